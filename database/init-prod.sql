@@ -10,6 +10,9 @@
 --
 -- =====================================================
 
+-- btree_gist lets the sessions exclusion constraints combine room/speaker equality with range overlap
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 -- Create users table
 CREATE TABLE IF NOT EXISTS users (
     id BIGSERIAL PRIMARY KEY,
@@ -20,6 +23,7 @@ CREATE TABLE IF NOT EXISTS users (
     last_name VARCHAR(100),
     role VARCHAR(50) NOT NULL DEFAULT 'PARTICIPANT',
     is_active BOOLEAN DEFAULT TRUE,
+    token_version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -34,6 +38,8 @@ CREATE TABLE IF NOT EXISTS proposals (
     status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
     submitted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     reviewed_at TIMESTAMP,
+    claimed_by BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    claim_expires_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -47,12 +53,38 @@ CREATE TABLE IF NOT EXISTS sessions (
     description TEXT,
     session_time TIMESTAMP NOT NULL,
     duration_minutes INTEGER DEFAULT 60,
+    session_end TIMESTAMP NOT NULL,
     room VARCHAR(100) NOT NULL,
     max_participants INTEGER DEFAULT 100,
-    current_participants INTEGER DEFAULT 0,
     status VARCHAR(50) NOT NULL DEFAULT 'SCHEDULED',
     version BIGINT DEFAULT 0,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT sessions_room_no_overlap EXCLUDE USING gist (
+        room WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED'),
+    CONSTRAINT sessions_speaker_no_overlap EXCLUDE USING gist (
+        speaker_id WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED')
+);
+
+-- Create session seat stripes table (participant counts, split across rows to spread write contention)
+CREATE TABLE IF NOT EXISTS session_seat_stripes (
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL,
+    capacity INTEGER NOT NULL,
+    used INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (session_id, stripe),
+    CHECK (used >= 0)
+);
+
+-- Create session rating summaries table (running feedback totals per session, kept in step with feedback)
+CREATE TABLE IF NOT EXISTS session_rating_summaries (
+    session_id BIGINT PRIMARY KEY REFERENCES sessions(id) ON DELETE CASCADE,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rated_1 BIGINT NOT NULL DEFAULT 0,
+    rated_2 BIGINT NOT NULL DEFAULT 0,
+    rated_3 BIGINT NOT NULL DEFAULT 0,
+    rated_4 BIGINT NOT NULL DEFAULT 0,
+    rated_5 BIGINT NOT NULL DEFAULT 0
 );
 
 -- Create registrations table
@@ -76,20 +108,104 @@ CREATE TABLE IF NOT EXISTS feedbacks (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Create rate limit buckets table (shared token buckets, used with rate-limit.backend=jdbc)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at BIGINT NOT NULL
+);
+
+-- Create revoked tokens table (JWTs revoked on logout, kept until they expire)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create indexes for better query performance
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
 CREATE INDEX IF NOT EXISTS idx_proposals_speaker_id ON proposals(speaker_id);
 CREATE INDEX IF NOT EXISTS idx_proposals_status ON proposals(status);
+CREATE INDEX IF NOT EXISTS idx_proposals_pending_queue ON proposals(submitted_at, id) WHERE status = 'PENDING';
 CREATE INDEX IF NOT EXISTS idx_sessions_speaker_id ON sessions(speaker_id);
 CREATE INDEX IF NOT EXISTS idx_sessions_proposal_id ON sessions(proposal_id);
 CREATE INDEX IF NOT EXISTS idx_sessions_status ON sessions(status);
 CREATE INDEX IF NOT EXISTS idx_sessions_session_time ON sessions(session_time);
+CREATE INDEX IF NOT EXISTS idx_sessions_time_range ON sessions(session_time, session_end);
 CREATE INDEX IF NOT EXISTS idx_registrations_user_id ON registrations(user_id);
 CREATE INDEX IF NOT EXISTS idx_registrations_session_id ON registrations(session_id);
+CREATE INDEX IF NOT EXISTS idx_registrations_session_status ON registrations(session_id, status, registered_at);
 CREATE INDEX IF NOT EXISTS idx_feedbacks_user_id ON feedbacks(user_id);
 CREATE INDEX IF NOT EXISTS idx_feedbacks_proposal_id ON feedbacks(proposal_id);
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+-- Keyset pagination
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_proposals_submitted_at ON proposals(submitted_at, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_time_id ON sessions(session_time, id);
+CREATE INDEX IF NOT EXISTS idx_registrations_session_registered_at ON registrations(session_id, registered_at, id);
+
+-- Analytics views behind the /api/analytics dashboards, refreshed concurrently by the application
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_session_stats AS
+SELECT s.id AS session_id, s.title, s.speaker_id, s.room, s.session_time, s.status, s.max_participants,
+       COALESCE(p.participants, 0) AS participants,
+       COALESCE(r.rating_count, 0) AS rating_count,
+       COALESCE(r.rating_sum, 0) AS rating_sum
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_session_stats_session_id ON analytics_session_stats(session_id);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_speaker_stats AS
+SELECT u.id AS speaker_id, u.username, u.full_name, COUNT(*) AS session_count,
+       COALESCE(SUM(p.participants), 0) AS participants,
+       COALESCE(SUM(r.rating_count), 0) AS rating_count,
+       COALESCE(SUM(r.rating_sum), 0) AS rating_sum
+FROM sessions s
+JOIN users u ON u.id = s.speaker_id
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY u.id, u.username, u.full_name;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_speaker_stats_speaker_id ON analytics_speaker_stats(speaker_id);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_room_stats AS
+SELECT s.room, COUNT(*) AS session_count,
+       COALESCE(SUM(s.max_participants), 0) AS capacity,
+       COALESCE(SUM(p.participants), 0) AS participants
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY s.room;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_room_stats_room ON analytics_room_stats(room);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_daily_registrations AS
+SELECT CAST(registered_at AS DATE) AS registration_date, COUNT(*) AS registrations,
+       SUM(CASE WHEN status = 'CONFIRMED' THEN 1 ELSE 0 END) AS confirmed,
+       SUM(CASE WHEN status = 'WAITLISTED' THEN 1 ELSE 0 END) AS waitlisted,
+       SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelled,
+       SUM(CASE WHEN status = 'ATTENDED' THEN 1 ELSE 0 END) AS attended
+FROM registrations
+WHERE registered_at IS NOT NULL
+GROUP BY CAST(registered_at AS DATE);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_daily_registrations_date
+    ON analytics_daily_registrations(registration_date);
+
+-- Entity ids are drawn from these sequences 50 at a time (Hibernate pooled optimizer)
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE proposals_id_seq INCREMENT BY 50;
+ALTER SEQUENCE sessions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE registrations_id_seq INCREMENT BY 50;
 
 -- =====================================================
 -- NO DEFAULT USERS ARE CREATED IN THIS SCRIPT
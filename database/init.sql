@@ -8,6 +8,9 @@ CREATE DATABASE conference_db;
 -- Connect to database
 \c conference_db;
 
+-- btree_gist lets the sessions exclusion constraints combine room/speaker equality with range overlap
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 -- Create Users Table
 CREATE TABLE users (
     id BIGSERIAL PRIMARY KEY,
@@ -17,7 +20,8 @@ CREATE TABLE users (
     full_name VARCHAR(255),
     role VARCHAR(50) NOT NULL DEFAULT 'USER',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    token_version INTEGER NOT NULL DEFAULT 0
 );
 
 -- Create Proposals Table
@@ -31,8 +35,11 @@ CREATE TABLE proposals (
     reviewed_at TIMESTAMP,
     reviewed_by BIGINT,
     rejection_reason TEXT,
+    claimed_by BIGINT,
+    claim_expires_at TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (reviewed_by) REFERENCES users(id) ON DELETE SET NULL
+    FOREIGN KEY (reviewed_by) REFERENCES users(id) ON DELETE SET NULL,
+    FOREIGN KEY (claimed_by) REFERENCES users(id) ON DELETE SET NULL
 );
 
 -- Create Sessions Table
@@ -44,13 +51,28 @@ CREATE TABLE sessions (
     description TEXT,
     session_time TIMESTAMP NOT NULL,
     duration_minutes INTEGER NOT NULL DEFAULT 60,
+    session_end TIMESTAMP NOT NULL,
     room VARCHAR(255) NOT NULL,
     max_participants INTEGER DEFAULT 100,
-    current_participants INTEGER DEFAULT 0,
     status VARCHAR(50) NOT NULL DEFAULT 'SCHEDULED',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (proposal_id) REFERENCES proposals(id) ON DELETE CASCADE,
-    FOREIGN KEY (speaker_id) REFERENCES users(id) ON DELETE CASCADE
+    FOREIGN KEY (speaker_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT sessions_room_no_overlap EXCLUDE USING gist (
+        room WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED'),
+    CONSTRAINT sessions_speaker_no_overlap EXCLUDE USING gist (
+        speaker_id WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED')
+);
+
+-- Create Session Seat Stripes Table (participant counts, split across rows to spread write contention)
+CREATE TABLE session_seat_stripes (
+    session_id BIGINT NOT NULL,
+    stripe INTEGER NOT NULL,
+    capacity INTEGER NOT NULL,
+    used INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (session_id, stripe),
+    FOREIGN KEY (session_id) REFERENCES sessions(id) ON DELETE CASCADE,
+    CHECK (used >= 0)
 );
 
 -- Create Registrations Table
@@ -74,19 +96,59 @@ CREATE TABLE feedback (
     comment TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (session_id) REFERENCES sessions(id) ON DELETE CASCADE,
+    CONSTRAINT unique_feedback_user_session UNIQUE (user_id, session_id)
+);
+
+-- Create Session Rating Summaries Table (running feedback totals per session, kept in step with feedback)
+CREATE TABLE session_rating_summaries (
+    session_id BIGINT PRIMARY KEY,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rated_1 BIGINT NOT NULL DEFAULT 0,
+    rated_2 BIGINT NOT NULL DEFAULT 0,
+    rated_3 BIGINT NOT NULL DEFAULT 0,
+    rated_4 BIGINT NOT NULL DEFAULT 0,
+    rated_5 BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (session_id) REFERENCES sessions(id) ON DELETE CASCADE
 );
 
+-- Create Rate Limit Buckets Table (shared token buckets when rate-limit.backend=jdbc)
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at BIGINT NOT NULL
+);
+
+-- Create Revoked Tokens Table (JWTs revoked on logout, kept until they expire)
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create Indexes for Performance
 CREATE INDEX idx_proposals_status ON proposals(status);
 CREATE INDEX idx_proposals_user_id ON proposals(user_id);
-CREATE INDEX idx_sessions_time ON sessions(session_time);
+-- Review queue: pending proposals in submission order
+CREATE INDEX idx_proposals_pending_queue ON proposals(submitted_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_sessions_time_id ON sessions(session_time, id);
+CREATE INDEX idx_sessions_time_range ON sessions(session_time, session_end);
 CREATE INDEX idx_sessions_speaker_id ON sessions(speaker_id);
 CREATE INDEX idx_sessions_status ON sessions(status);
 CREATE INDEX idx_registrations_user_id ON registrations(user_id);
 CREATE INDEX idx_registrations_session_id ON registrations(session_id);
+CREATE INDEX idx_registrations_session_status ON registrations(session_id, status, registered_at);
 CREATE INDEX idx_feedback_session_id ON feedback(session_id);
 CREATE INDEX idx_feedback_user_id ON feedback(user_id);
+-- Keyset pagination: sort key of each paged list, after its equality filter
+CREATE INDEX idx_users_created_at ON users(created_at, id);
+CREATE INDEX idx_proposals_submitted_at ON proposals(submitted_at, id);
+CREATE INDEX idx_registrations_session_registered_at ON registrations(session_id, registered_at, id);
+CREATE INDEX idx_feedback_session_created_at ON feedback(session_id, created_at, id);
+CREATE INDEX idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
 
 -- Insert Sample Data (Optional)
 
@@ -105,18 +167,85 @@ INSERT INTO proposals (user_id, title, description, status, submitted_at) VALUES
 (3, 'Advanced Java Concurrency', 'Deep dive into Java concurrent programming', 'PENDING', CURRENT_TIMESTAMP);
 
 -- Sample Sessions
-INSERT INTO sessions (proposal_id, speaker_id, title, description, session_time, duration_minutes, room, max_participants, status) VALUES
-(1, 3, 'Introduction to Spring Boot', 'A comprehensive guide to building REST APIs with Spring Boot', CURRENT_TIMESTAMP + INTERVAL '7 days', 90, 'Room A', 50, 'SCHEDULED'),
-(2, 4, 'Microservices Architecture', 'Best practices for designing microservices', CURRENT_TIMESTAMP + INTERVAL '8 days', 120, 'Room B', 100, 'SCHEDULED');
+INSERT INTO sessions (proposal_id, speaker_id, title, description, session_time, session_end, duration_minutes, room, max_participants, status) VALUES
+(1, 3, 'Introduction to Spring Boot', 'A comprehensive guide to building REST APIs with Spring Boot', CURRENT_TIMESTAMP + INTERVAL '7 days', CURRENT_TIMESTAMP + INTERVAL '7 days' + INTERVAL '90 minutes', 90, 'Room A', 50, 'SCHEDULED'),
+(2, 4, 'Microservices Architecture', 'Best practices for designing microservices', CURRENT_TIMESTAMP + INTERVAL '8 days', CURRENT_TIMESTAMP + INTERVAL '8 days' + INTERVAL '120 minutes', 120, 'Room B', 100, 'SCHEDULED');
 
 -- Sample Registrations
 INSERT INTO registrations (user_id, session_id, status) VALUES
 (5, 1, 'CONFIRMED'),
 (5, 2, 'CONFIRMED');
 
--- Update session participant count
-UPDATE sessions SET current_participants = 1 WHERE id = 1;
-UPDATE sessions SET current_participants = 1 WHERE id = 2;
+-- Seat stripes: capacity split evenly over 8 stripes, with the sample registrations' seats on stripe 0
+INSERT INTO session_seat_stripes (session_id, stripe, capacity, used)
+SELECT s.id, g.stripe, s.max_participants / 8 + CASE WHEN g.stripe < s.max_participants % 8 THEN 1 ELSE 0 END, 0
+FROM sessions s CROSS JOIN generate_series(0, 7) AS g(stripe);
+UPDATE session_seat_stripes SET used = 1 WHERE stripe = 0 AND session_id IN (1, 2);
+
+-- Rating summaries: the sample sessions have no feedback yet
+INSERT INTO session_rating_summaries (session_id) SELECT id FROM sessions;
+
+-- Analytics views behind the /api/analytics dashboards; created after the sample data so they start populated.
+-- The application refreshes them concurrently, which needs the unique index on each view
+CREATE MATERIALIZED VIEW analytics_session_stats AS
+SELECT s.id AS session_id, s.title, s.speaker_id, s.room, s.session_time, s.status, s.max_participants,
+       COALESCE(p.participants, 0) AS participants,
+       COALESCE(r.rating_count, 0) AS rating_count,
+       COALESCE(r.rating_sum, 0) AS rating_sum
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id;
+
+CREATE UNIQUE INDEX idx_analytics_session_stats_session_id ON analytics_session_stats(session_id);
+
+CREATE MATERIALIZED VIEW analytics_speaker_stats AS
+SELECT u.id AS speaker_id, u.username, u.full_name, COUNT(*) AS session_count,
+       COALESCE(SUM(p.participants), 0) AS participants,
+       COALESCE(SUM(r.rating_count), 0) AS rating_count,
+       COALESCE(SUM(r.rating_sum), 0) AS rating_sum
+FROM sessions s
+JOIN users u ON u.id = s.speaker_id
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY u.id, u.username, u.full_name;
+
+CREATE UNIQUE INDEX idx_analytics_speaker_stats_speaker_id ON analytics_speaker_stats(speaker_id);
+
+CREATE MATERIALIZED VIEW analytics_room_stats AS
+SELECT s.room, COUNT(*) AS session_count,
+       COALESCE(SUM(s.max_participants), 0) AS capacity,
+       COALESCE(SUM(p.participants), 0) AS participants
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY s.room;
+
+CREATE UNIQUE INDEX idx_analytics_room_stats_room ON analytics_room_stats(room);
+
+CREATE MATERIALIZED VIEW analytics_daily_registrations AS
+SELECT CAST(registered_at AS DATE) AS registration_date, COUNT(*) AS registrations,
+       SUM(CASE WHEN status = 'CONFIRMED' THEN 1 ELSE 0 END) AS confirmed,
+       SUM(CASE WHEN status = 'WAITLISTED' THEN 1 ELSE 0 END) AS waitlisted,
+       SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelled,
+       SUM(CASE WHEN status = 'ATTENDED' THEN 1 ELSE 0 END) AS attended
+FROM registrations
+WHERE registered_at IS NOT NULL
+GROUP BY CAST(registered_at AS DATE);
+
+CREATE UNIQUE INDEX idx_analytics_daily_registrations_date
+    ON analytics_daily_registrations(registration_date);
+
+-- Entity ids are drawn from these sequences 50 at a time (Hibernate pooled optimizer), so the sequences
+-- must step by 50; the sample rows above keep their 1, 2, 3... ids
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE proposals_id_seq INCREMENT BY 50;
+ALTER SEQUENCE sessions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE registrations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE feedback_id_seq INCREMENT BY 50;
 
 -- Grant permissions
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO postgres;
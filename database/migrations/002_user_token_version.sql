@@ -0,0 +1,5 @@
+-- Persistent JWT token versions
+-- Every token carries the user's token_version at issue time; a role change or deletion bumps it, and tokens
+-- with an older version (or of a user that no longer exists) are rejected on every node and across restarts.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
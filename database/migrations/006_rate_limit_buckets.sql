@@ -0,0 +1,12 @@
+-- Shared rate limit buckets
+-- Token buckets used by rate-limit.backend=jdbc, one row per policy and client key. Nodes refill and consume a
+-- bucket with a single UPDATE; rows idle for longer than the longest policy period are deleted by the
+-- application, using the refilled_at index. Safe to re-run.
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at);
@@ -0,0 +1,13 @@
+-- Revoked tokens
+-- JWT ids revoked on logout, kept until the token would have expired anyway. Every node loads the unexpired rows
+-- at startup and polls for rows revoked since its last check (revoked_at index); expired rows are deleted by the
+-- application using the expires_at index. Safe to re-run.
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
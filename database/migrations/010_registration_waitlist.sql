@@ -0,0 +1,9 @@
+-- Registration waitlist
+-- Apply to databases created before the WAITLISTED registration status existed.
+-- Tables created by Hibernate's ddl-auto carry a check constraint listing the enum values; drop it so
+-- WAITLISTED rows can be stored (init.sql never created one).
+
+ALTER TABLE registrations DROP CONSTRAINT IF EXISTS registrations_status_check;
+
+-- FIFO lookup of the waitlist head and queue positions
+CREATE INDEX IF NOT EXISTS idx_registrations_session_status ON registrations(session_id, status, registered_at);
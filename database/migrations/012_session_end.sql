@@ -0,0 +1,14 @@
+-- Persisted session end time
+-- Conflict checks compare session_time/session_end directly instead of computing
+-- session_time + duration per row, so the range can be served by an index.
+-- The application keeps the column up to date on insert and update.
+
+ALTER TABLE sessions ADD COLUMN IF NOT EXISTS session_end TIMESTAMP;
+
+UPDATE sessions
+SET session_end = session_time + duration_minutes * INTERVAL '1 minute'
+WHERE session_end IS NULL;
+
+ALTER TABLE sessions ALTER COLUMN session_end SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_sessions_time_range ON sessions(session_time, session_end);
@@ -0,0 +1,18 @@
+-- Room and speaker double-booking constraints
+-- Apply after 012_session_end.sql. A room or speaker cannot hold two non-cancelled sessions whose
+-- [session_time, session_end) ranges overlap; the application maps violations to 409 Conflict.
+-- Adding the constraints fails if existing sessions already overlap. List them with:
+--   SELECT a.id, b.id FROM sessions a JOIN sessions b ON a.id < b.id
+--   AND (a.room = b.room OR a.speaker_id = b.speaker_id)
+--   AND tsrange(a.session_time, a.session_end) && tsrange(b.session_time, b.session_end)
+--   AND a.status <> 'CANCELLED' AND b.status <> 'CANCELLED';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE sessions DROP CONSTRAINT IF EXISTS sessions_room_no_overlap;
+ALTER TABLE sessions ADD CONSTRAINT sessions_room_no_overlap EXCLUDE USING gist (
+    room WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED');
+
+ALTER TABLE sessions DROP CONSTRAINT IF EXISTS sessions_speaker_no_overlap;
+ALTER TABLE sessions ADD CONSTRAINT sessions_speaker_no_overlap EXCLUDE USING gist (
+    speaker_id WITH =, tsrange(session_time, session_end) WITH &&) WHERE (status <> 'CANCELLED');
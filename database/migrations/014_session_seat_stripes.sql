@@ -0,0 +1,27 @@
+-- Striped participant counters
+-- Moves sessions.current_participants into session_seat_stripes: 8 rows per session whose capacities add up to
+-- max_participants, so concurrent registrations for one session update different rows. Existing counts are
+-- spread evenly over the stripes and the free seats shared out on top. Run with the application stopped.
+
+CREATE TABLE IF NOT EXISTS session_seat_stripes (
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL,
+    capacity INTEGER NOT NULL,
+    used INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (session_id, stripe),
+    CHECK (used >= 0)
+);
+
+INSERT INTO session_seat_stripes (session_id, stripe, capacity, used)
+SELECT s.id, g.stripe,
+       u.used + GREATEST(s.max_participants - s.current_participants, 0) / 8
+           + CASE WHEN g.stripe < GREATEST(s.max_participants - s.current_participants, 0) % 8 THEN 1 ELSE 0 END,
+       u.used
+FROM sessions s
+CROSS JOIN generate_series(0, 7) AS g(stripe)
+CROSS JOIN LATERAL (
+    SELECT s.current_participants / 8 + CASE WHEN g.stripe < s.current_participants % 8 THEN 1 ELSE 0 END AS used
+) u
+WHERE NOT EXISTS (SELECT 1 FROM session_seat_stripes t WHERE t.session_id = s.id);
+
+ALTER TABLE sessions DROP COLUMN IF EXISTS current_participants;
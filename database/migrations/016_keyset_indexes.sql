@@ -0,0 +1,14 @@
+-- Keyset pagination indexes
+-- Each paged list endpoint sorts on (timestamp, id) after an optional equality filter and reads
+-- WHERE (time, id) > (:time, :id) ORDER BY time, id LIMIT n, so every page is a short index range scan.
+-- CONCURRENTLY avoids blocking writes; run outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at ON users(created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_proposals_submitted_at ON proposals(submitted_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sessions_time_id ON sessions(session_time, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_registrations_session_registered_at
+    ON registrations(session_id, registered_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_feedback_session_created_at ON feedback(session_id, created_at, id);
+
+-- Superseded by idx_sessions_time_id
+DROP INDEX CONCURRENTLY IF EXISTS idx_sessions_time;
@@ -0,0 +1,21 @@
+-- Pooled id sequences
+-- Entities now take their ids from the BIGSERIAL sequences through Hibernate's pooled optimizer: one nextval
+-- reserves the 50 ids up to and including the value returned, which lets Hibernate batch inserts. The sequences
+-- must therefore step by 50, and must not lag behind existing ids. Rows inserted by plain SQL keep working, since
+-- they consume whole sequence values that Hibernate never hands out. Run with the application stopped; Hibernate
+-- refuses to start while a sequence's increment does not match the mapping.
+
+SELECT setval('users_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM users), (SELECT last_value FROM users_id_seq)));
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+
+SELECT setval('proposals_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM proposals), (SELECT last_value FROM proposals_id_seq)));
+ALTER SEQUENCE proposals_id_seq INCREMENT BY 50;
+
+SELECT setval('sessions_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM sessions), (SELECT last_value FROM sessions_id_seq)));
+ALTER SEQUENCE sessions_id_seq INCREMENT BY 50;
+
+SELECT setval('registrations_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM registrations), (SELECT last_value FROM registrations_id_seq)));
+ALTER SEQUENCE registrations_id_seq INCREMENT BY 50;
+
+SELECT setval('feedback_id_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM feedback), (SELECT last_value FROM feedback_id_seq)));
+ALTER SEQUENCE feedback_id_seq INCREMENT BY 50;
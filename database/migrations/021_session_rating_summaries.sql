@@ -0,0 +1,36 @@
+-- Per-session rating totals
+-- Adds session_rating_summaries, which the application keeps in step with every feedback insert and delete so
+-- averages and distributions are read from one row. Backfilled from the existing feedback; sessions without
+-- feedback get an empty row. Safe to re-run: existing rows are recomputed.
+
+CREATE TABLE IF NOT EXISTS session_rating_summaries (
+    session_id BIGINT PRIMARY KEY REFERENCES sessions(id) ON DELETE CASCADE,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rated_1 BIGINT NOT NULL DEFAULT 0,
+    rated_2 BIGINT NOT NULL DEFAULT 0,
+    rated_3 BIGINT NOT NULL DEFAULT 0,
+    rated_4 BIGINT NOT NULL DEFAULT 0,
+    rated_5 BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO session_rating_summaries (session_id, rating_count, rating_sum, rated_1, rated_2, rated_3, rated_4, rated_5)
+SELECT s.id,
+       COUNT(f.id),
+       COALESCE(SUM(f.rating), 0),
+       COUNT(f.id) FILTER (WHERE f.rating = 1),
+       COUNT(f.id) FILTER (WHERE f.rating = 2),
+       COUNT(f.id) FILTER (WHERE f.rating = 3),
+       COUNT(f.id) FILTER (WHERE f.rating = 4),
+       COUNT(f.id) FILTER (WHERE f.rating = 5)
+FROM sessions s
+LEFT JOIN feedback f ON f.session_id = s.id
+GROUP BY s.id
+ON CONFLICT (session_id) DO UPDATE SET
+    rating_count = EXCLUDED.rating_count,
+    rating_sum = EXCLUDED.rating_sum,
+    rated_1 = EXCLUDED.rated_1,
+    rated_2 = EXCLUDED.rated_2,
+    rated_3 = EXCLUDED.rated_3,
+    rated_4 = EXCLUDED.rated_4,
+    rated_5 = EXCLUDED.rated_5;
@@ -0,0 +1,37 @@
+-- One feedback per user and session
+-- Feedback can now be written in batches after the request has been answered, so the database enforces what
+-- the application checks: one feedback per (user_id, session_id). Existing duplicates are removed first, keeping
+-- each user's earliest feedback, and the affected rating summaries are recomputed.
+
+DELETE FROM feedback f
+USING feedback earlier
+WHERE earlier.user_id = f.user_id
+  AND earlier.session_id = f.session_id
+  AND earlier.id < f.id;
+
+UPDATE session_rating_summaries r
+SET rating_count = c.rating_count,
+    rating_sum = c.rating_sum,
+    rated_1 = c.rated_1,
+    rated_2 = c.rated_2,
+    rated_3 = c.rated_3,
+    rated_4 = c.rated_4,
+    rated_5 = c.rated_5
+FROM (
+    SELECT s.id AS session_id,
+           COUNT(f.id) AS rating_count,
+           COALESCE(SUM(f.rating), 0) AS rating_sum,
+           COUNT(f.id) FILTER (WHERE f.rating = 1) AS rated_1,
+           COUNT(f.id) FILTER (WHERE f.rating = 2) AS rated_2,
+           COUNT(f.id) FILTER (WHERE f.rating = 3) AS rated_3,
+           COUNT(f.id) FILTER (WHERE f.rating = 4) AS rated_4,
+           COUNT(f.id) FILTER (WHERE f.rating = 5) AS rated_5
+    FROM sessions s
+    LEFT JOIN feedback f ON f.session_id = s.id
+    GROUP BY s.id
+) c
+WHERE c.session_id = r.session_id
+  AND c.rating_count <> r.rating_count;
+
+ALTER TABLE feedback DROP CONSTRAINT IF EXISTS unique_feedback_user_session;
+ALTER TABLE feedback ADD CONSTRAINT unique_feedback_user_session UNIQUE (user_id, session_id);
@@ -0,0 +1,58 @@
+-- Conference analytics views
+-- Materialized summaries behind the /api/analytics dashboards: per session, per speaker, per room and per
+-- registration day. The application refreshes them with REFRESH MATERIALIZED VIEW CONCURRENTLY, which needs the
+-- unique index each view has, and serves the dashboards from an in-memory copy. The queries must stay the same
+-- as the definitions in AnalyticsViews, which runs them directly when analytics.materialized-views=false.
+-- Safe to re-run.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_session_stats AS
+SELECT s.id AS session_id, s.title, s.speaker_id, s.room, s.session_time, s.status, s.max_participants,
+       COALESCE(p.participants, 0) AS participants,
+       COALESCE(r.rating_count, 0) AS rating_count,
+       COALESCE(r.rating_sum, 0) AS rating_sum
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_session_stats_session_id ON analytics_session_stats(session_id);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_speaker_stats AS
+SELECT u.id AS speaker_id, u.username, u.full_name, COUNT(*) AS session_count,
+       COALESCE(SUM(p.participants), 0) AS participants,
+       COALESCE(SUM(r.rating_count), 0) AS rating_count,
+       COALESCE(SUM(r.rating_sum), 0) AS rating_sum
+FROM sessions s
+JOIN users u ON u.id = s.speaker_id
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+LEFT JOIN session_rating_summaries r ON r.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY u.id, u.username, u.full_name;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_speaker_stats_speaker_id ON analytics_speaker_stats(speaker_id);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_room_stats AS
+SELECT s.room, COUNT(*) AS session_count,
+       COALESCE(SUM(s.max_participants), 0) AS capacity,
+       COALESCE(SUM(p.participants), 0) AS participants
+FROM sessions s
+LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+    ON p.session_id = s.id
+WHERE s.status <> 'CANCELLED'
+GROUP BY s.room;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_room_stats_room ON analytics_room_stats(room);
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS analytics_daily_registrations AS
+SELECT CAST(registered_at AS DATE) AS registration_date, COUNT(*) AS registrations,
+       SUM(CASE WHEN status = 'CONFIRMED' THEN 1 ELSE 0 END) AS confirmed,
+       SUM(CASE WHEN status = 'WAITLISTED' THEN 1 ELSE 0 END) AS waitlisted,
+       SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelled,
+       SUM(CASE WHEN status = 'ATTENDED' THEN 1 ELSE 0 END) AS attended
+FROM registrations
+WHERE registered_at IS NOT NULL
+GROUP BY CAST(registered_at AS DATE);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_analytics_daily_registrations_date
+    ON analytics_daily_registrations(registration_date);
@@ -0,0 +1,11 @@
+-- Proposal review queue
+-- Reviewers claim pending proposals with SELECT ... FOR UPDATE SKIP LOCKED, so concurrent claims get disjoint
+-- batches, and hold them until claim_expires_at. Reviews and claims are compare-and-set updates on status and
+-- claim. The partial index serves the queue scan, oldest pending proposals first.
+-- CONCURRENTLY avoids blocking writes; run outside a transaction. Safe to re-run.
+
+ALTER TABLE proposals ADD COLUMN IF NOT EXISTS claimed_by BIGINT REFERENCES users(id) ON DELETE SET NULL;
+ALTER TABLE proposals ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_proposals_pending_queue ON proposals(submitted_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,141 @@
+package com.conference.management_system.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SQL statement accounting for the current HTTP request.
+ * <p>
+ * Hibernate reports every statement it prepares to {@link Inspector} and times every execution through
+ * {@link JdbcListener}; both add to the stats of the request running on the thread, if any. Statements are
+ * grouped by fingerprint (the SQL with literals and bind lists normalized), so one fingerprint repeated many
+ * times in a request points at an N+1 load. Slow statements are logged by fingerprint whether or not a request
+ * is being tracked. Only statements issued through Hibernate are counted, not plain JdbcTemplate calls.
+ */
+@Slf4j
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    // SQL of the statement last prepared on this thread; Hibernate prepares each statement right before running it
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Set once from configuration; Hibernate creates the inspector and listener itself
+    private static volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final Map<String, Integer> fingerprints = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    static void setSlowQueryMillis(long millis) {
+        slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Start tracking the request on this thread.
+     */
+    static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+        LAST_SQL.remove();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The fingerprint run most often in this request, or null if none ran.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return fingerprints.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    /**
+     * Normalize SQL so that statements differing only in literal values or IN list length compare equal.
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Registered as {@code hibernate.session_factory.statement_inspector}; counts statements without changing them.
+     */
+    public static class Inspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            LAST_SQL.set(sql);
+            QueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statements++;
+                stats.fingerprints.merge(fingerprint(sql), 1, Integer::sum);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Registered as {@code hibernate.session.events.auto}; Hibernate creates one per session.
+     */
+    public static class JdbcListener implements SessionEventListener {
+
+        private long startNanos;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed(System.nanoTime() - startNanos);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed(System.nanoTime() - startNanos);
+        }
+
+        private static void executed(long elapsedNanos) {
+            QueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.jdbcNanos += elapsedNanos;
+            }
+            if (elapsedNanos >= slowQueryNanos) {
+                String sql = LAST_SQL.get();
+                log.warn("Slow query: {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        sql != null ? fingerprint(sql) : "(unknown)");
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.conference.management_system.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports the SQL each HTTP request ran, as collected by {@link QueryStats}.
+ * <p>
+ * Every request is recorded as {@code http.server.requests.sql.statements} and
+ * {@code http.server.requests.sql.time}, tagged with the endpoint pattern, and a request that runs one statement
+ * fingerprint {@code query-stats.repeat-threshold} times or more is logged as a possible N+1. With
+ * {@code query-stats.headers=true} (meant for development) the numbers are also sent as response headers, which
+ * requires buffering the response body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final String STATEMENTS_HEADER = "X-Query-Count";
+    private static final String TIME_HEADER = "X-Query-Time-Ms";
+    private static final String REPEATED_HEADER = "X-Query-Max-Repeat";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${query-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${query-stats.headers:false}")
+    private boolean headers;
+
+    @Value("${query-stats.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Bean
+    static HibernatePropertiesCustomizer queryStatsHibernateProperties(
+            @Value("${query-stats.enabled:true}") boolean enabled,
+            @Value("${query-stats.slow-query-ms:200}") long slowQueryMs) {
+        return properties -> {
+            if (enabled) {
+                QueryStats.setSlowQueryMillis(slowQueryMs);
+                properties.put("hibernate.session_factory.statement_inspector", new QueryStats.Inspector());
+                properties.put("hibernate.session.events.auto", QueryStats.JdbcListener.class.getName());
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        ContentCachingResponseWrapper buffered = headers && !isStreamed(request)
+                ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryStats.end();
+            record(request, stats);
+            if (buffered != null) {
+                writeHeaders(buffered, stats);
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * Exports are written after this filter returns and must not be buffered; they get no headers.
+     */
+    private static boolean isStreamed(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/export");
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements run per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("JDBC execution time per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("Possible N+1: {} {} ran the same statement {} times: {}",
+                    request.getMethod(), uri, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+        response.setHeader(REPEATED_HEADER, String.valueOf(repeated != null ? repeated.getValue() : 0));
+    }
+}
@@ -0,0 +1,12 @@
+package com.conference.management_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background housekeeping jobs (cache sweeps, reconciliation, flushes).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
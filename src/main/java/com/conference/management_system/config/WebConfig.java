@@ -1,6 +1,8 @@
 package com.conference.management_system.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -17,8 +19,17 @@ public class WebConfig implements WebMvcConfigurer {
     
     private final RateLimitingInterceptor rateLimitingInterceptor;
     
+    // Streamed exports are the only asynchronous responses; a large one can take far longer than the container default
+    @Value("${export.timeout-ms:3600000}")
+    private long exportTimeoutMs;
+    
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(rateLimitingInterceptor);
     }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeoutMs);
+    }
 }
@@ -0,0 +1,127 @@
+package com.conference.management_system.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.conference.management_system.dto.DailyRegistrationsResponse;
+import com.conference.management_system.dto.RoomAnalyticsResponse;
+import com.conference.management_system.dto.SessionAnalyticsResponse;
+import com.conference.management_system.dto.SpeakerAnalyticsResponse;
+import com.conference.management_system.service.AnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Conference dashboards (Coordinator/Admin only). Figures are refreshed "
+        + "periodically and may be a few minutes old")
+public class AnalyticsController {
+
+    // Clients may keep dashboards but must revalidate them; private because every read is authenticated
+    private static final CacheControl ANALYTICS_CACHE = CacheControl.noCache().cachePrivate();
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/sessions/top-rated")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get top-rated sessions", description = "Sessions by average rating, best first, with their "
+            + "participant counts. Only sessions with at least minRatings ratings (default 1) are listed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sessions returned"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or minRatings"),
+        @ApiResponse(responseCode = "403", description = "Coordinator or Admin access required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<SessionAnalyticsResponse>> getTopRatedSessions(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minRatings,
+            WebRequest request) {
+        if (request.checkNotModified(analyticsService.getETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(ANALYTICS_CACHE)
+                .body(analyticsService.getTopRatedSessions(limit, minRatings));
+    }
+
+    @GetMapping("/speakers/leaderboard")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get speaker leaderboard", description = "Speakers by average rating over their sessions, "
+            + "best first. Only speakers with at least minRatings ratings (default 1) are listed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Speakers returned"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or minRatings"),
+        @ApiResponse(responseCode = "403", description = "Coordinator or Admin access required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<SpeakerAnalyticsResponse>> getSpeakerLeaderboard(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minRatings,
+            WebRequest request) {
+        if (request.checkNotModified(analyticsService.getETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(ANALYTICS_CACHE)
+                .body(analyticsService.getSpeakerLeaderboard(limit, minRatings));
+    }
+
+    @GetMapping("/rooms/fill-rate")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get fill rate per room", description = "Seats taken against seats offered in each room, "
+            + "fullest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rooms returned"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "403", description = "Coordinator or Admin access required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<RoomAnalyticsResponse>> getRoomFillRates(WebRequest request) {
+        if (request.checkNotModified(analyticsService.getETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(ANALYTICS_CACHE).body(analyticsService.getRoomFillRates());
+    }
+
+    @GetMapping("/registrations/daily")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get registrations per day", description = "Registrations made on each day, oldest first, "
+            + "optionally limited to the days from and to (inclusive)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Days returned"),
+        @ApiResponse(responseCode = "304", description = "Unchanged since the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "from is after to"),
+        @ApiResponse(responseCode = "403", description = "Coordinator or Admin access required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<DailyRegistrationsResponse>> getDailyRegistrations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        if (request.checkNotModified(analyticsService.getETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(ANALYTICS_CACHE).body(analyticsService.getDailyRegistrations(from, to));
+    }
+
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ANALYTICS_CACHE).build();
+    }
+}
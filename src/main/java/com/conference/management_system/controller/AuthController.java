@@ -17,6 +17,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -59,12 +61,13 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    @Operation(summary = "Logout user", description = "Invalidate user session and clear authentication token")
+    @Operation(summary = "Logout user", description = "Revoke the authentication token and clear the cookie")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Logout successful"),
         @ApiResponse(responseCode = "401", description = "User not authenticated")
     })
-    public ResponseEntity<String> logout(HttpServletResponse response) {
+    public ResponseEntity<String> logout(HttpServletRequest request, HttpServletResponse response) {
+        authService.logout(resolveToken(request));
         response.addHeader("Set-Cookie", "token=; Max-Age=0; HttpOnly; Path=/; SameSite=Strict");
         return ResponseEntity.ok("{\"message\": \"Logged out successfully\"}");
     }
@@ -79,6 +82,21 @@ public class AuthController {
         return ResponseEntity.ok(authService.currentUser());
     }
     
+    private String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("token".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+    
     private void setTokenCookie(HttpServletResponse response, String token) {
         String cookieValue = String.format(
             "token=%s; Max-Age=86400; HttpOnly; Path=/; SameSite=Strict; Secure",
@@ -2,6 +2,9 @@ package com.conference.management_system.controller;
 
 import com.conference.management_system.dto.FeedbackRequest;
 import com.conference.management_system.dto.FeedbackResponse;
+import com.conference.management_system.dto.PageResponse;
+import com.conference.management_system.dto.RatingSummaryResponse;
+import com.conference.management_system.service.ExportService;
 import com.conference.management_system.service.FeedbackService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,16 +27,25 @@ import java.util.List;
 public class FeedbackController {
     
     private final FeedbackService feedbackService;
+    private final ExportService exportService;
     
     @PostMapping
-    @Operation(summary = "Submit feedback", description = "Submit feedback and rating for a session")
+    @Operation(summary = "Submit feedback", description = "Submit feedback and rating for a session. With buffering "
+            + "enabled the feedback is accepted with its id and written moments later")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Feedback submitted successfully"),
+        @ApiResponse(responseCode = "202", description = "Feedback accepted and queued for writing"),
         @ApiResponse(responseCode = "400", description = "Invalid feedback data"),
-        @ApiResponse(responseCode = "401", description = "Unauthorized")
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Not registered for this session"),
+        @ApiResponse(responseCode = "409", description = "Feedback already given for this session"),
+        @ApiResponse(responseCode = "503", description = "Feedback queue full, try again shortly")
     })
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<FeedbackResponse> createFeedback(@Valid @RequestBody FeedbackRequest request) {
+        if (feedbackService.isBuffered()) {
+            return ResponseEntity.accepted().body(feedbackService.submitFeedback(request));
+        }
         return ResponseEntity.ok(feedbackService.createFeedback(request));
     }
     
@@ -46,6 +59,40 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getSessionFeedback(sessionId));
     }
     
+    @GetMapping("/session/{sessionId}/page")
+    @Operation(summary = "Get session feedback page", description = "Retrieve a session's feedback, oldest first, one page "
+            + "at a time. Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of feedback returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter")
+    })
+    public ResponseEntity<PageResponse<FeedbackResponse>> getSessionFeedbackPage(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating) {
+        return ResponseEntity.ok(feedbackService.getSessionFeedbackPage(sessionId, cursor, limit, minRating, maxRating));
+    }
+    
+    @GetMapping("/session/{sessionId}/export")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Export session feedback", description = "Stream all of a session's feedback as CSV or NDJSON "
+            + "(format=csv|ndjson), optionally gzip-compressed (Coordinator/Admin only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+        @ApiResponse(responseCode = "404", description = "Session not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportSessionFeedback(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportService.exportSessionFeedback(sessionId, format).toResponse(gzip);
+    }
+    
     @GetMapping("/session/{sessionId}/average")
     @Operation(summary = "Get session average rating", description = "Calculate the average rating for a session")
     @ApiResponses(value = {
@@ -56,6 +103,17 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getSessionAverageRating(sessionId));
     }
     
+    @GetMapping("/session/{sessionId}/summary")
+    @Operation(summary = "Get session rating summary", description = "Rating count, average, distribution over 1-5 and "
+            + "percentiles for a session, read from its running totals")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rating summary returned"),
+        @ApiResponse(responseCode = "404", description = "Session not found")
+    })
+    public ResponseEntity<RatingSummaryResponse> getSessionRatingSummary(@PathVariable Long sessionId) {
+        return ResponseEntity.ok(feedbackService.getSessionRatingSummary(sessionId));
+    }
+    
     @GetMapping("/my")
     @Operation(summary = "Get my feedback", description = "Retrieve feedback submitted by the current user")
     @ApiResponses(value = {
@@ -10,8 +10,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.ProposalRequest;
 import com.conference.management_system.dto.ProposalResponse;
 import com.conference.management_system.dto.ProposalReviewRequest;
@@ -57,6 +59,24 @@ public class ProposalController {
         return ResponseEntity.ok(proposalService.getAllProposals());
     }
     
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get proposals page", description = "Retrieve proposals in submission order, one page at a time "
+            + "(Coordinator/Admin only). Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of proposals returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<PageResponse<ProposalResponse>> getProposalsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(proposalService.getProposalsPage(cursor, limit, status, userId));
+    }
+    
     @GetMapping("/my")
     @Operation(summary = "Get my proposals", description = "Retrieve proposals submitted by the current user")
     @ApiResponses(value = {
@@ -80,13 +100,44 @@ public class ProposalController {
         return ResponseEntity.ok(proposalService.getProposalsByStatus(status));
     }
     
+    @PostMapping("/claim")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Claim proposals to review", description = "Claim up to batch (default 1) of the oldest pending "
+            + "proposals for review. Reviewers claiming at the same time get different proposals; a claim expires if "
+            + "the proposal is not reviewed in time. An empty list means nothing is waiting")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Claimed proposals returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch size"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<ProposalResponse>> claimProposals(@RequestParam(required = false) Integer batch) {
+        return ResponseEntity.ok(proposalService.claimProposals(batch));
+    }
+    
+    @DeleteMapping("/{id}/claim")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Release a claim", description = "Return a claimed proposal to the review queue unreviewed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Claim released"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+        @ApiResponse(responseCode = "404", description = "Proposal not found"),
+        @ApiResponse(responseCode = "409", description = "Proposal not claimed by the current user")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<Void> releaseClaim(@PathVariable Long id) {
+        proposalService.releaseClaim(id);
+        return ResponseEntity.noContent().build();
+    }
+    
     @PostMapping("/{id}/review")
     @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
     @Operation(summary = "Review a proposal", description = "Submit a review decision (approve/reject) for a proposal")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Proposal reviewed successfully"),
         @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
-        @ApiResponse(responseCode = "404", description = "Proposal not found")
+        @ApiResponse(responseCode = "404", description = "Proposal not found"),
+        @ApiResponse(responseCode = "409", description = "Proposal already reviewed or claimed by another reviewer")
     })
     @SecurityRequirement(name = "bearerAuth")
     public ResponseEntity<ProposalResponse> reviewProposal(
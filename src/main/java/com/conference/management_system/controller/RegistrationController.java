@@ -8,10 +8,18 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.conference.management_system.dto.BatchRegistrationRequest;
+import com.conference.management_system.dto.BatchRegistrationResult;
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.RegistrationResponse;
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.service.ExportService;
 import com.conference.management_system.service.RegistrationService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,6 +27,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,11 +39,13 @@ import lombok.extern.slf4j.Slf4j;
 public class RegistrationController {
     
     private final RegistrationService registrationService;
+    private final ExportService exportService;
     
     @PostMapping("/session/{sessionId}")
     @Operation(summary = "Register for session", description = "Register the current user for a specific session")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Registration successful"),
+        @ApiResponse(responseCode = "202", description = "Session full, added to the waitlist with its position"),
         @ApiResponse(responseCode = "400", description = "Invalid registration data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Session not found"),
@@ -45,7 +56,10 @@ public class RegistrationController {
         log.info("Register for session request: sessionId={}", sessionId);
         try {
             RegistrationResponse response = registrationService.registerForSession(sessionId);
-            log.info("Registration successful: sessionId={}", sessionId);
+            log.info("Registration successful: sessionId={}, status={}", sessionId, response.getStatus());
+            if (response.getStatus() == Registration.RegistrationStatus.WAITLISTED) {
+                return ResponseEntity.accepted().body(response);
+            }
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Registration failed: sessionId={}, error={}", sessionId, e.getMessage());
@@ -53,6 +67,22 @@ public class RegistrationController {
         }
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Register for several sessions",
+            description = "Register the current user for a list of sessions in one request; results are returned per session")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-session results returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid session list"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "409", description = "A concurrent request registered one of these sessions")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<List<BatchRegistrationResult>> registerForSessions(
+            @Valid @RequestBody BatchRegistrationRequest request) {
+        log.info("Batch registration request: sessionIds={}", request.getSessionIds());
+        return ResponseEntity.ok(registrationService.registerForSessions(request.getSessionIds()));
+    }
+    
     @GetMapping("/my")
     @Operation(summary = "Get my registrations", description = "Retrieve all sessions the current user is registered for")
     @ApiResponses(value = {
@@ -86,6 +116,42 @@ public class RegistrationController {
         return ResponseEntity.ok(registrationService.getSessionRegistrations(sessionId));
     }
     
+    @GetMapping("/session/{sessionId}/export")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Export session registrations", description = "Stream all of a session's registrations with attendee "
+            + "names and emails as CSV or NDJSON (format=csv|ndjson), optionally gzip-compressed (Coordinator/Admin only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+        @ApiResponse(responseCode = "404", description = "Session not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportSessionRegistrations(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportService.exportSessionRegistrations(sessionId, format).toResponse(gzip);
+    }
+    
+    @GetMapping("/session/{sessionId}/page")
+    @PreAuthorize("hasAnyRole('COORDINATOR', 'ADMIN')")
+    @Operation(summary = "Get session registrations page", description = "Get a session's registrations in registration "
+            + "order, one page at a time (Coordinator/Admin only). Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of registrations returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<PageResponse<RegistrationResponse>> getSessionRegistrationsPage(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(registrationService.getSessionRegistrationsPage(sessionId, cursor, limit, status));
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancel registration", description = "Unregister from a session")
     @ApiResponses(value = {
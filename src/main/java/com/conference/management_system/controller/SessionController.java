@@ -1,7 +1,11 @@
 package com.conference.management_system.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,8 +15,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.SessionRequest;
 import com.conference.management_system.dto.SessionResponse;
 import com.conference.management_system.service.SessionService;
@@ -31,6 +38,9 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Sessions", description = "APIs for managing conference sessions")
 public class SessionController {
     
+    // Clients may keep session reads but must revalidate them; private because every read is authenticated
+    private static final CacheControl SESSION_READ_CACHE = CacheControl.noCache().cachePrivate();
+    
     private final SessionService sessionService;
     
     @PostMapping
@@ -48,26 +58,59 @@ public class SessionController {
     
     @GetMapping
     @Operation(summary = "Get all sessions", description = "Retrieve list of all conference sessions")
-    @ApiResponse(responseCode = "200", description = "List of sessions returned")
-    public ResponseEntity<List<SessionResponse>> getAllSessions() {
-        return ResponseEntity.ok(sessionService.getAllSessions());
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of sessions returned"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the If-None-Match ETag")
+    })
+    public ResponseEntity<List<SessionResponse>> getAllSessions(WebRequest request) {
+        if (request.checkNotModified(sessionService.getSessionsETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(SESSION_READ_CACHE).body(sessionService.getAllSessions());
+    }
+    
+    @GetMapping("/page")
+    @Operation(summary = "Get sessions page", description = "Retrieve sessions ordered by start time, one page at a time. "
+            + "Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of sessions returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter")
+    })
+    public ResponseEntity<PageResponse<SessionResponse>> getSessionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String room,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(sessionService.getSessionsPage(cursor, limit, status, room, from, to));
     }
     
     @GetMapping("/upcoming")
     @Operation(summary = "Get upcoming sessions", description = "Retrieve sessions scheduled for the future")
-    @ApiResponse(responseCode = "200", description = "List of upcoming sessions returned")
-    public ResponseEntity<List<SessionResponse>> getUpcomingSessions() {
-        return ResponseEntity.ok(sessionService.getUpcomingSessions());
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "List of upcoming sessions returned"),
+        @ApiResponse(responseCode = "304", description = "List unchanged since the If-None-Match ETag")
+    })
+    public ResponseEntity<List<SessionResponse>> getUpcomingSessions(WebRequest request) {
+        if (request.checkNotModified(sessionService.getUpcomingSessionsETag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(SESSION_READ_CACHE).body(sessionService.getUpcomingSessions());
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get session by ID", description = "Retrieve details of a specific session")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Session details returned"),
+        @ApiResponse(responseCode = "304", description = "Session unchanged since the If-None-Match ETag"),
         @ApiResponse(responseCode = "404", description = "Session not found")
     })
-    public ResponseEntity<SessionResponse> getSessionById(@PathVariable Long id) {
-        return ResponseEntity.ok(sessionService.getSessionById(id));
+    public ResponseEntity<SessionResponse> getSessionById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(sessionService.getSessionETag(id))) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(SESSION_READ_CACHE).body(sessionService.getSessionById(id));
     }
     
     @GetMapping("/my")
@@ -109,4 +152,12 @@ public class SessionController {
         sessionService.deleteSession(id);
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * checkNotModified has already set the status and ETag; repeat the caching headers so they are not replaced
+     * by the no-store defaults.
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(SESSION_READ_CACHE).build();
+    }
 }
@@ -3,6 +3,7 @@ package com.conference.management_system.controller;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,10 +12,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.UserResponse;
 import com.conference.management_system.dto.UserRoleRequest;
+import com.conference.management_system.service.ExportService;
 import com.conference.management_system.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,6 +37,7 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
     
     private final UserService userService;
+    private final ExportService exportService;
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -45,6 +51,41 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
     
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get users page", description = "Retrieve users in sign-up order, one page at a time (Admin only). "
+            + "Pass the returned nextCursor to get the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of users returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter"),
+        @ApiResponse(responseCode = "403", description = "Admin access required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<PageResponse<UserResponse>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(userService.getUsersPage(cursor, limit, role, from, to));
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export users", description = "Stream all users as CSV or NDJSON (format=csv|ndjson), "
+            + "optionally gzip-compressed (Admin only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportService.exportUsers(format).toResponse(gzip);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get user by ID", description = "Retrieve details of a specific user (Admin only)")
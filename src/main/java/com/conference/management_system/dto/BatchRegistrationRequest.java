@@ -0,0 +1,21 @@
+package com.conference.management_system.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationRequest {
+    
+    // In order of preference: when two requested sessions overlap, the earlier one wins
+    @NotEmpty(message = "At least one session ID is required")
+    @Size(max = 20, message = "At most 20 sessions can be registered at once")
+    private List<@NotNull(message = "Session ID is required") Long> sessionIds;
+}
@@ -0,0 +1,25 @@
+package com.conference.management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRegistrationResult {
+    private Long sessionId;
+    private Outcome outcome;
+    private String message;
+    // Present for REGISTERED and WAITLISTED
+    private RegistrationResponse registration;
+    
+    public enum Outcome {
+        REGISTERED,
+        WAITLISTED,
+        ALREADY_REGISTERED,
+        CONFLICT,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -0,0 +1,20 @@
+package com.conference.management_system.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRegistrationsResponse {
+    private LocalDate date;
+    // Registrations made that day, and how many of them are now in each status
+    private long registrations;
+    private long confirmed;
+    private long waitlisted;
+    private long cancelled;
+    private long attended;
+}
@@ -0,0 +1,17 @@
+package com.conference.management_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    // Opaque; pass back as ?cursor= to get the next page. Null on the last page.
+    private String nextCursor;
+    private boolean hasMore;
+}
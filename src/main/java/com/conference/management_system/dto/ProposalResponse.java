@@ -23,4 +23,7 @@ public class ProposalResponse {
     private LocalDateTime reviewedAt;
     private String reviewedBy;
     private String rejectionReason;
+    // Set while a reviewer holds a claim on the proposal
+    private Long claimedByUserId;
+    private LocalDateTime claimExpiresAt;
 }
@@ -0,0 +1,20 @@
+package com.conference.management_system.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponse {
+    private Long sessionId;
+    private long count;
+    private double average;
+    // Number of ratings per value 1-5
+    private Map<Integer, Long> distribution;
+    // Nearest-rank p25, p50, p75 and p90 of the ratings; null values when there are none
+    private Map<String, Integer> percentiles;
+}
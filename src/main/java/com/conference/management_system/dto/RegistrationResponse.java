@@ -20,4 +20,6 @@ public class RegistrationResponse {
     private LocalDateTime sessionTime;
     private Registration.RegistrationStatus status;
     private LocalDateTime registeredAt;
+    // 1-based place in the session's waitlist; null unless the status is WAITLISTED
+    private Long waitlistPosition;
 }
@@ -0,0 +1,18 @@
+package com.conference.management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAnalyticsResponse {
+    private String room;
+    // Sessions that are not cancelled, and their seats
+    private long sessionCount;
+    private long capacity;
+    private long participants;
+    // Share of the seats taken, 0-1
+    private double fillRate;
+}
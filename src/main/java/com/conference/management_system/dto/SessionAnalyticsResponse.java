@@ -0,0 +1,25 @@
+package com.conference.management_system.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionAnalyticsResponse {
+    private Long sessionId;
+    private String title;
+    private Long speakerId;
+    private String room;
+    private LocalDateTime sessionTime;
+    private String status;
+    private Integer maxParticipants;
+    private long participants;
+    // Share of the seats taken, 0-1
+    private double fillRate;
+    private long ratingCount;
+    private double averageRating;
+}
@@ -25,4 +25,6 @@ public class SessionResponse {
     private Integer currentParticipants;
     private Session.SessionStatus status;
     private LocalDateTime createdAt;
+    // Optimistic lock version; changes with every update of the session itself
+    private Long version;
 }
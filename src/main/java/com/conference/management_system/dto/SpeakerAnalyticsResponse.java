@@ -0,0 +1,19 @@
+package com.conference.management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpeakerAnalyticsResponse {
+    private Long speakerId;
+    private String username;
+    private String fullName;
+    // Sessions that are not cancelled
+    private long sessionCount;
+    private long participants;
+    private long ratingCount;
+    private double averageRating;
+}
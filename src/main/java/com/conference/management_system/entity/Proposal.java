@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,7 +27,8 @@ import lombok.NoArgsConstructor;
 public class Proposal {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proposals_seq")
+    @SequenceGenerator(name = "proposals_seq", sequenceName = "proposals_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -56,6 +58,14 @@ public class Proposal {
     @Column(name = "rejection_reason", columnDefinition = "TEXT")
     private String rejectionReason;
     
+    // Review queue lease: the reviewer working on this proposal, until the claim expires
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by")
+    private User claimedBy;
+    
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+    
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
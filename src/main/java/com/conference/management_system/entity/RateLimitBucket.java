@@ -0,0 +1,35 @@
+package com.conference.management_system.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared token bucket state for the cluster-wide rate limiter.
+ * Rows are only read and written with atomic SQL by JdbcRateLimiter; the mapping keeps the schema in one place.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+    @Index(name = "idx_rate_limit_buckets_refilled_at", columnList = "refilled_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 255)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private Double tokens;
+
+    // Epoch millis of the last refill, kept numeric so the refill arithmetic is portable
+    @Column(name = "refilled_at", nullable = false)
+    private Long refilledAt;
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -29,7 +30,8 @@ import lombok.NoArgsConstructor;
 public class Registration {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registrations_seq")
+    @SequenceGenerator(name = "registrations_seq", sequenceName = "registrations_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +56,7 @@ public class Registration {
     
     public enum RegistrationStatus {
         CONFIRMED,
+        WAITLISTED,
         CANCELLED,
         ATTENDED
     }
@@ -14,6 +14,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -28,10 +30,11 @@ import lombok.NoArgsConstructor;
 public class Session {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessions_seq")
+    @SequenceGenerator(name = "sessions_seq", sequenceName = "sessions_id_seq", allocationSize = 50)
     private Long id;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "proposal_id", nullable = false)
     private Proposal proposal;
     
@@ -51,15 +54,16 @@ public class Session {
     @Column(name = "duration_minutes", nullable = false)
     private Integer durationMinutes = 60;
     
+    // Derived from sessionTime + durationMinutes and persisted so time-range queries can use an index
+    @Column(name = "session_end")
+    private LocalDateTime sessionEnd;
+    
     @Column(nullable = false)
     private String room;
     
     @Column(name = "max_participants")
     private Integer maxParticipants = 100;
     
-    @Column(name = "current_participants")
-    private Integer currentParticipants = 0;
-    
     @Version
     @Column(name = "version")
     private Long version;
@@ -74,6 +78,12 @@ public class Session {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updateSessionEnd();
+    }
+    
+    @PreUpdate
+    protected void updateSessionEnd() {
+        sessionEnd = sessionTime.plusMinutes(durationMinutes);
     }
     
     public enum SessionStatus {
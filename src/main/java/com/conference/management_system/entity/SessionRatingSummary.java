@@ -0,0 +1,72 @@
+package com.conference.management_system.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of a session's feedback ratings: how many there are, their sum and how many of each rating 1-5.
+ * Kept up to date in the same transaction as every feedback insert and delete, so averages and distributions are
+ * read from one row instead of aggregating the feedback table.
+ */
+@Entity
+@Table(name = "session_rating_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionRatingSummary {
+
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rated_1", nullable = false)
+    private Long rated1 = 0L;
+
+    @Column(name = "rated_2", nullable = false)
+    private Long rated2 = 0L;
+
+    @Column(name = "rated_3", nullable = false)
+    private Long rated3 = 0L;
+
+    @Column(name = "rated_4", nullable = false)
+    private Long rated4 = 0L;
+
+    @Column(name = "rated_5", nullable = false)
+    private Long rated5 = 0L;
+
+    public SessionRatingSummary(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Counts per rating, index 0 holding the number of 1s.
+     */
+    public long[] histogram() {
+        return new long[] {rated1, rated2, rated3, rated4, rated5};
+    }
+
+    public void setHistogram(long[] histogram) {
+        rated1 = histogram[0];
+        rated2 = histogram[1];
+        rated3 = histogram[2];
+        rated4 = histogram[3];
+        rated5 = histogram[4];
+        ratingCount = 0L;
+        ratingSum = 0L;
+        for (int i = 0; i < histogram.length; i++) {
+            ratingCount += histogram[i];
+            ratingSum += histogram[i] * (i + 1);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.conference.management_system.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One stripe of a session's participant counter. Each session owns a fixed number of stripes whose capacities
+ * add up to its max participants; a seat is claimed by a conditional increment of one stripe, so concurrent
+ * registrations for the same session update different rows. The participant count is the sum of {@code used}.
+ */
+@Entity
+@Table(name = "session_seat_stripes")
+@IdClass(SessionSeatStripe.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeatStripe {
+
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Id
+    @Column(name = "stripe")
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer used = 0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sessionId;
+        private Integer stripe;
+    }
+}
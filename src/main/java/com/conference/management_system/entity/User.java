@@ -17,6 +17,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,7 +31,8 @@ import lombok.NoArgsConstructor;
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -55,6 +57,10 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Embedded in every issued JWT; bumped to invalidate all of the user's tokens (see TokenVersionRegistry)
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
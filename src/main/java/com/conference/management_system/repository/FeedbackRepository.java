@@ -1,7 +1,12 @@
 package com.conference.management_system.repository;
 
 import com.conference.management_system.entity.Feedback;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,11 +15,48 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findBySessionId(Long sessionId);
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, JpaSpecificationExecutor<Feedback> {
+    // Entity graphs load what the responses show with the list itself, instead of one query per row
+    @EntityGraph(attributePaths = {"user", "session"})
+    List<Feedback> findBySessionIdOrderByCreatedAtAscIdAsc(Long sessionId, Limit limit);
+    
+    @EntityGraph(attributePaths = "session")
     List<Feedback> findByUserId(Long userId);
     Optional<Feedback> findByUserIdAndSessionId(Long userId, Long sessionId);
     
-    @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.session.id = :sessionId")
-    Double getAverageRatingBySessionId(@Param("sessionId") Long sessionId);
+    @Query("SELECT f.user.id FROM Feedback f WHERE f.session.id = :sessionId")
+    List<Long> findUserIdsBySessionId(@Param("sessionId") Long sessionId);
+    
+    // Rows of [rating, count] for one session
+    @Query("SELECT f.rating, COUNT(f) FROM Feedback f WHERE f.session.id = :sessionId GROUP BY f.rating")
+    List<Object[]> countRatings(@Param("sessionId") Long sessionId);
+    
+    // Rows of [sessionId, rating, count] over all feedback, for reconciling the rating summaries
+    @Query("SELECT f.session.id, f.rating, COUNT(f) FROM Feedback f GROUP BY f.session.id, f.rating")
+    List<Object[]> countRatingsBySession();
+    
+    // Filters for the paged feedback list
+    
+    static Specification<Feedback> forSession(Long sessionId) {
+        return (root, query, cb) -> cb.equal(root.get("session").get("id"), sessionId);
+    }
+    
+    static Specification<Feedback> ratedAtLeast(int rating) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), rating);
+    }
+    
+    static Specification<Feedback> ratedAtMost(int rating) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rating"), rating);
+    }
+    
+    // Fetch the author and session with the page itself; skipped for count queries
+    static Specification<Feedback> withUserAndSession() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class) {
+                root.fetch("user", JoinType.INNER);
+                root.fetch("session", JoinType.INNER);
+            }
+            return null;
+        };
+    }
 }
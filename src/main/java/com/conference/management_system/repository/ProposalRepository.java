@@ -1,13 +1,109 @@
 package com.conference.management_system.repository;
 
 import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProposalRepository extends JpaRepository<Proposal, Long> {
+public interface ProposalRepository extends JpaRepository<Proposal, Long>, JpaSpecificationExecutor<Proposal> {
+    // Entity graphs load the users the responses show with the list itself, instead of one query per row
+    @EntityGraph(attributePaths = "reviewedBy")
     List<Proposal> findByUserId(Long userId);
     List<Proposal> findByStatus(Proposal.ProposalStatus status);
+    
+    @EntityGraph(attributePaths = {"user", "reviewedBy"})
+    List<Proposal> findByStatusOrderBySubmittedAtAscIdAsc(Proposal.ProposalStatus status, Limit limit);
+    
+    @EntityGraph(attributePaths = {"user", "reviewedBy"})
+    List<Proposal> findAllByOrderBySubmittedAtAscIdAsc(Limit limit);
+    
+    @EntityGraph(attributePaths = {"user", "reviewedBy"})
+    List<Proposal> findByIdInOrderBySubmittedAtAscIdAsc(Collection<Long> ids);
+    
+    @EntityGraph(attributePaths = {"user", "reviewedBy"})
+    Optional<Proposal> findWithUsersById(Long id);
+    
+    // Review queue
+    
+    // Oldest proposals in the status without a live claim. SKIP LOCKED (lock timeout -2) lets concurrent claims
+    // pass over each other's rows, so every reviewer gets a different batch without waiting.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM Proposal p WHERE p.status = :status " +
+           "AND (p.claimExpiresAt IS NULL OR p.claimExpiresAt <= :now) " +
+           "ORDER BY p.submittedAt, p.id")
+    List<Proposal> findClaimableForUpdate(@Param("status") Proposal.ProposalStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+    
+    // Compare-and-set claim: only rows still in the status and unclaimed (or with an expired claim) change.
+    // Clears the persistence context, which still holds the rows as they were before the claim.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Proposal p SET p.claimedBy = :reviewer, p.claimExpiresAt = :expiresAt " +
+           "WHERE p.id IN :ids AND p.status = :status " +
+           "AND (p.claimExpiresAt IS NULL OR p.claimExpiresAt <= :now)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("status") Proposal.ProposalStatus status,
+              @Param("reviewer") User reviewer,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+    
+    // Compare-and-set review: applies only while the proposal is still in the expected status and not claimed by
+    // another reviewer; clears the claim
+    @Modifying
+    @Query("UPDATE Proposal p SET p.status = :to, p.reviewedBy = :reviewer, p.reviewedAt = :now, " +
+           "p.rejectionReason = :rejectionReason, p.claimedBy = null, p.claimExpiresAt = null " +
+           "WHERE p.id = :id AND p.status = :from " +
+           "AND (p.claimedBy IS NULL OR p.claimedBy = :reviewer OR p.claimExpiresAt <= :now)")
+    int review(@Param("id") Long id,
+               @Param("from") Proposal.ProposalStatus from,
+               @Param("to") Proposal.ProposalStatus to,
+               @Param("reviewer") User reviewer,
+               @Param("rejectionReason") String rejectionReason,
+               @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Proposal p SET p.claimedBy = null, p.claimExpiresAt = null " +
+           "WHERE p.id = :id AND p.claimedBy = :reviewer")
+    int releaseClaim(@Param("id") Long id, @Param("reviewer") User reviewer);
+    
+    // Filters for the paged proposal list
+    
+    static Specification<Proposal> hasStatus(Proposal.ProposalStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    static Specification<Proposal> submittedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    // Fetch the author and reviewer with the page itself; skipped for count queries
+    static Specification<Proposal> withUsers() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class) {
+                root.fetch("user", JoinType.INNER);
+                root.fetch("reviewedBy", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
 }
@@ -1,29 +1,107 @@
 package com.conference.management_system.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.JoinType;
 
 @Repository
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+public interface RegistrationRepository extends JpaRepository<Registration, Long>,
+        JpaSpecificationExecutor<Registration> {
     List<Registration> findByUserId(Long userId);
-    List<Registration> findBySessionId(Long sessionId);
+    
+    @Query("SELECT r FROM Registration r JOIN FETCH r.session WHERE r.user.id = :userId")
+    List<Registration> findByUserIdWithSession(@Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = {"user", "session"})
+    List<Registration> findBySessionIdOrderByRegisteredAtAscIdAsc(Long sessionId, Limit limit);
     Optional<Registration> findByUserIdAndSessionId(Long userId, Long sessionId);
     boolean existsByUserIdAndSessionId(Long userId, Long sessionId);
     
-    @Query(value = "SELECT r.* FROM registrations r JOIN sessions s ON r.session_id = s.id " +
-           "WHERE r.user_id = :userId AND s.session_time < :endTime " +
-           "AND (s.session_time + (s.duration_minutes || ' minutes')::INTERVAL) > :startTime " +
-           "AND r.status = 'CONFIRMED'", nativeQuery = true)
+    @Query("SELECT r.user.id FROM Registration r WHERE r.session.id = :sessionId")
+    List<Long> findUserIdsBySessionId(@Param("sessionId") Long sessionId);
+    
+    // Conditional so that two concurrent cancellations release only one seat
+    @Modifying
+    @Query("UPDATE Registration r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") Registration.RegistrationStatus from,
+                     @Param("to") Registration.RegistrationStatus to);
+    
+    // Head of the waitlist, FIFO. SKIP LOCKED (lock timeout -2) lets concurrent cancellations promote different entries.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Registration r WHERE r.session.id = :sessionId AND r.status = :status " +
+           "ORDER BY r.registeredAt, r.id")
+    List<Registration> findWaitlistForUpdate(@Param("sessionId") Long sessionId,
+                                             @Param("status") Registration.RegistrationStatus status,
+                                             Pageable pageable);
+    
+    @Query("SELECT COUNT(r) FROM Registration r WHERE r.session.id = :sessionId AND r.status = :status " +
+           "AND (r.registeredAt < :registeredAt OR (r.registeredAt = :registeredAt AND r.id <= :id))")
+    long countWaitlistUpTo(@Param("sessionId") Long sessionId,
+                           @Param("status") Registration.RegistrationStatus status,
+                           @Param("registeredAt") LocalDateTime registeredAt,
+                           @Param("id") Long id);
+    
+    // Waitlist position of each given registration in its own session, as (registration id, position) rows
+    @Query("SELECT r.id, (SELECT COUNT(w) FROM Registration w WHERE w.session = r.session AND w.status = :status " +
+           "AND (w.registeredAt < r.registeredAt OR (w.registeredAt = r.registeredAt AND w.id <= r.id))) " +
+           "FROM Registration r WHERE r.id IN :ids")
+    List<Object[]> countWaitlistUpToByIds(@Param("ids") Collection<Long> ids,
+                                          @Param("status") Registration.RegistrationStatus status);
+    
+    @Query("SELECT r.session FROM Registration r WHERE r.user.id = :userId AND r.status = :status")
+    List<Session> findSessionsByUserIdAndStatus(@Param("userId") Long userId,
+                                                @Param("status") Registration.RegistrationStatus status);
+    
+    // Uses the persisted session_end, so the range predicates are plain column comparisons
+    @Query("SELECT r FROM Registration r JOIN r.session s " +
+           "WHERE r.user.id = :userId AND s.sessionTime < :endTime AND s.sessionEnd > :startTime " +
+           "AND r.status = com.conference.management_system.entity.Registration.RegistrationStatus.CONFIRMED")
     List<Registration> findUserRegistrationConflicts(
             @Param("userId") Long userId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
+    
+    // Filters for the paged registration list
+    
+    static Specification<Registration> forSession(Long sessionId) {
+        return (root, query, cb) -> cb.equal(root.get("session").get("id"), sessionId);
+    }
+    
+    static Specification<Registration> hasStatus(Registration.RegistrationStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    // Fetch the user and session with the page itself; skipped for count queries
+    static Specification<Registration> withUserAndSession() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class) {
+                root.fetch("user", JoinType.INNER);
+                root.fetch("session", JoinType.INNER);
+            }
+            return null;
+        };
+    }
 }
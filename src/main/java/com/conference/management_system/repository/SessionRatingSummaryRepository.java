@@ -0,0 +1,48 @@
+package com.conference.management_system.repository;
+
+import com.conference.management_system.entity.SessionRatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SessionRatingSummaryRepository extends JpaRepository<SessionRatingSummary, Long> {
+    
+    // Atomic in-place adjustment for one rating added (delta 1) or removed (delta -1); returns 0 if there is no row
+    @Modifying
+    @Query("UPDATE SessionRatingSummary s SET s.ratingCount = s.ratingCount + :delta, " +
+           "s.ratingSum = s.ratingSum + :delta * :rating, " +
+           "s.rated1 = s.rated1 + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, " +
+           "s.rated2 = s.rated2 + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+           "s.rated3 = s.rated3 + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, " +
+           "s.rated4 = s.rated4 + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+           "s.rated5 = s.rated5 + CASE WHEN :rating = 5 THEN :delta ELSE 0 END " +
+           "WHERE s.sessionId = :sessionId")
+    int adjust(@Param("sessionId") Long sessionId, @Param("rating") int rating, @Param("delta") long delta);
+    
+    // Same for a whole histogram of ratings at once; sumDelta is the change in the sum of the ratings
+    @Modifying
+    @Query("UPDATE SessionRatingSummary s SET " +
+           "s.ratingCount = s.ratingCount + :delta1 + :delta2 + :delta3 + :delta4 + :delta5, " +
+           "s.ratingSum = s.ratingSum + :sumDelta, " +
+           "s.rated1 = s.rated1 + :delta1, " +
+           "s.rated2 = s.rated2 + :delta2, " +
+           "s.rated3 = s.rated3 + :delta3, " +
+           "s.rated4 = s.rated4 + :delta4, " +
+           "s.rated5 = s.rated5 + :delta5 " +
+           "WHERE s.sessionId = :sessionId")
+    int adjustAll(@Param("sessionId") Long sessionId, @Param("delta1") long delta1, @Param("delta2") long delta2,
+                  @Param("delta3") long delta3, @Param("delta4") long delta4, @Param("delta5") long delta5,
+                  @Param("sumDelta") long sumDelta);
+    
+    // Serializes reconciliation with concurrent feedback writes, which update the same row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SessionRatingSummary s WHERE s.sessionId = :sessionId")
+    Optional<SessionRatingSummary> findForUpdate(@Param("sessionId") Long sessionId);
+}
@@ -1,34 +1,86 @@
 package com.conference.management_system.repository;
 
 import com.conference.management_system.entity.Session;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SessionRepository extends JpaRepository<Session, Long> {
+public interface SessionRepository extends JpaRepository<Session, Long>, JpaSpecificationExecutor<Session> {
+    @EntityGraph(attributePaths = "speaker")
     List<Session> findBySpeakerId(Long speakerId);
     List<Session> findByStatus(Session.SessionStatus status);
     
-    @Query("SELECT s FROM Session s WHERE s.sessionTime >= :now AND s.status = 'SCHEDULED' ORDER BY s.sessionTime")
-    List<Session> findUpcomingSessions(@Param("now") LocalDateTime now);
+    // Everything the catalog response needs in one query, instead of a speaker and proposal load per row
+    @Query("SELECT s FROM Session s JOIN FETCH s.speaker JOIN FETCH s.proposal ORDER BY s.id")
+    List<Session> findAllForCatalog();
     
-    @Query("SELECT s FROM Session s WHERE " +
-           "s.sessionTime < :endTime AND " +
-           "FUNCTION('TIMESTAMPADD', MINUTE, s.durationMinutes, s.sessionTime) > :startTime")
-    List<Session> findConflictingSessions(
+    @Query("SELECT s.version FROM Session s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT s FROM Session s JOIN FETCH s.speaker " +
+           "WHERE s.sessionTime >= :now AND s.status = 'SCHEDULED' ORDER BY s.sessionTime, s.id")
+    List<Session> findUpcomingSessions(@Param("now") LocalDateTime now, Limit limit);
+    
+    // Sessions that have not ended yet, loaded into the room and speaker calendars
+    @Query("SELECT s FROM Session s WHERE s.sessionEnd > :now AND s.status <> 'CANCELLED'")
+    List<Session> findActiveCalendar(@Param("now") LocalDateTime now);
+    
+    // Same predicates as the sessions_room_no_overlap and sessions_speaker_no_overlap exclusion constraints
+    @Query("SELECT COUNT(s) > 0 FROM Session s WHERE s.room = :room " +
+           "AND s.sessionTime < :endTime AND s.sessionEnd > :startTime AND s.status <> 'CANCELLED' " +
+           "AND (:ignoredId IS NULL OR s.id <> :ignoredId)")
+    boolean existsRoomConflict(
+            @Param("room") String room,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("ignoredId") Long ignoredId);
+    
+    @Query("SELECT COUNT(s) > 0 FROM Session s WHERE s.speaker.id = :speakerId " +
+           "AND s.sessionTime < :endTime AND s.sessionEnd > :startTime AND s.status <> 'CANCELLED' " +
+           "AND (:ignoredId IS NULL OR s.id <> :ignoredId)")
+    boolean existsSpeakerConflict(
+            @Param("speakerId") Long speakerId,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("endTime") LocalDateTime endTime,
+            @Param("ignoredId") Long ignoredId);
+    
+    // Filters for the paged session list
+    
+    static Specification<Session> hasStatus(Session.SessionStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+    
+    static Specification<Session> inRoom(String room) {
+        return (root, query, cb) -> cb.equal(root.get("room"), room);
+    }
+    
+    static Specification<Session> startsFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("sessionTime"), from);
+    }
+    
+    static Specification<Session> startsBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("sessionTime"), to);
+    }
     
-    // Pessimistic locking to prevent race condition in registration
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM Session s WHERE s.id = :sessionId")
-    Optional<Session> findByIdWithLock(@Param("sessionId") Long sessionId);
+    // Fetch what the response needs with the page itself; skipped for count queries
+    static Specification<Session> withSpeakerAndProposal() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class) {
+                root.fetch("speaker", JoinType.INNER);
+                root.fetch("proposal", JoinType.INNER);
+            }
+            return null;
+        };
+    }
 }
@@ -0,0 +1,48 @@
+package com.conference.management_system.repository;
+
+import com.conference.management_system.entity.SessionSeatStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SessionSeatStripeRepository extends JpaRepository<SessionSeatStripe, SessionSeatStripe.Key> {
+    
+    // Atomic seat claim on one stripe; returns 0 when that stripe is full
+    @Modifying
+    @Query("UPDATE SessionSeatStripe s SET s.used = s.used + 1 " +
+           "WHERE s.sessionId = :sessionId AND s.stripe = :stripe AND s.used < s.capacity")
+    int tryClaim(@Param("sessionId") Long sessionId, @Param("stripe") int stripe);
+    
+    @Modifying
+    @Query("UPDATE SessionSeatStripe s SET s.used = s.used - 1 " +
+           "WHERE s.sessionId = :sessionId AND s.stripe = :stripe AND s.used > 0")
+    int release(@Param("sessionId") Long sessionId, @Param("stripe") int stripe);
+    
+    @Query("SELECT COUNT(s) FROM SessionSeatStripe s WHERE s.sessionId = :sessionId")
+    int countStripes(@Param("sessionId") Long sessionId);
+    
+    @Query("SELECT COALESCE(SUM(s.used), 0) FROM SessionSeatStripe s WHERE s.sessionId = :sessionId")
+    long sumUsed(@Param("sessionId") Long sessionId);
+    
+    // Rows of [sessionId, used] for the given sessions
+    @Query("SELECT s.sessionId, SUM(s.used) FROM SessionSeatStripe s " +
+           "WHERE s.sessionId IN :sessionIds GROUP BY s.sessionId")
+    List<Object[]> sumUsedBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
+    
+    // Locks every stripe of the session, for capacity changes and batched increments
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SessionSeatStripe s WHERE s.sessionId = :sessionId ORDER BY s.stripe")
+    List<SessionSeatStripe> findBySessionIdForUpdate(@Param("sessionId") Long sessionId);
+    
+    @Modifying
+    @Query("DELETE FROM SessionSeatStripe s WHERE s.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,85 @@
+package com.conference.management_system.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.conference.management_system.entity.User;
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request-scoped view of the authenticated user.
+ * Id, username and role come from the principal resolved by {@link JwtAuthenticationFilter};
+ * the users table is only read when a caller really needs the full entity, and at most once per request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUserContext {
+
+    private final UserRepository userRepository;
+
+    private JwtPrincipal principal;
+    private User user;
+
+    public Long getId() {
+        return principal().getId();
+    }
+
+    public String getUsername() {
+        return principal().getUsername();
+    }
+
+    public User.Role getRole() {
+        return principal().getRole();
+    }
+
+    /**
+     * Lazy proxy for use as a foreign key (e.g. registration.setUser) without selecting the row.
+     */
+    public User getReference() {
+        if (user != null) {
+            return user;
+        }
+        return userRepository.getReferenceById(getId());
+    }
+
+    /**
+     * Fully loaded user entity, fetched once per request.
+     */
+    public User getUser() {
+        if (user == null) {
+            user = userRepository.findById(getId())
+                    .orElseThrow(() -> ApiException.notFound("User not found"));
+        }
+        return user;
+    }
+
+    private JwtPrincipal principal() {
+        if (principal != null) {
+            return principal;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            log.warn("Current user requested without authentication");
+            throw ApiException.unauthorized("User not authenticated");
+        }
+        if (authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            principal = jwtPrincipal;
+        } else {
+            // Tokens issued before the id and role claims existed carry only the username
+            user = userRepository.findByUsername(authentication.getName())
+                    .orElseThrow(() -> ApiException.notFound("User not found"));
+            principal = new JwtPrincipal(user.getId(), user.getUsername(), user.getRole());
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,254 @@
+package com.conference.management_system.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide token buckets stored in the {@code rate_limit_buckets} table.
+ * <p>
+ * Each node keeps a short-lived local view of every active bucket and decides locally while the view is fresh.
+ * A view stays fresh for a tenth of the time the policy takes to refill one token, capped at
+ * {@code rate-limit.jdbc.cache-ms}, so strict policies re-sync often and generous ones save round trips. A stale view is synchronised with one atomic refill-and-consume UPDATE that also pushes
+ * the tokens consumed locally since the last sync; views that go quiet are flushed in batches by a scheduled job.
+ * Overshoot across nodes is therefore bounded by what the other nodes admit within one cache window.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final String REFILL_AND_CONSUME_SQL =
+            "UPDATE rate_limit_buckets "
+            + "SET tokens = LEAST(?, tokens + (? - refilled_at) * ?) - ?, refilled_at = ? "
+            + "WHERE bucket_key = ?";
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at) "
+            + "SELECT ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM rate_limit_buckets WHERE bucket_key = ?)";
+
+    private static final String SELECT_TOKENS_SQL =
+            "SELECT tokens FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private static final String DELETE_IDLE_SQL =
+            "DELETE FROM rate_limit_buckets WHERE refilled_at < ?";
+
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+    private static final long CACHE_FRACTION_OF_REFILL = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment environment;
+
+    @Value("${rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${rate-limit.jdbc.cache-ms:250}")
+    private long cacheMs;
+
+    private final Map<String, BucketView> views = new ConcurrentHashMap<>();
+    private final Map<RateLimitPolicy, Double> capacities = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Double> refillPerMs = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Long> periodsMs = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Long> cacheNanos = new EnumMap<>(RateLimitPolicy.class);
+
+    @PostConstruct
+    void init() {
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            long capacity = policy.capacity(environment);
+            Duration period = policy.period(environment);
+            long periodMs = period.toMillis();
+            capacities.put(policy, (double) capacity);
+            refillPerMs.put(policy, (double) capacity / periodMs);
+            periodsMs.put(policy, periodMs);
+            long windowMs = Math.min(cacheMs, periodMs / capacity / CACHE_FRACTION_OF_REFILL);
+            cacheNanos.put(policy, TimeUnit.MILLISECONDS.toNanos(windowMs));
+            log.info("Rate limit policy {}: {} requests per {}, local decision cache {} ms", policy.getName(),
+                    capacity, period, windowMs);
+        }
+        log.info("Cluster-wide rate limiting enabled, local decision cache at most {} ms", cacheMs);
+    }
+
+    @Override
+    public long consume(RateLimitPolicy policy, String key) {
+        String bucketKey = policy.getName() + ':' + key;
+        BucketView view = views.get(bucketKey);
+        if (view == null) {
+            view = createView(policy, bucketKey);
+        }
+
+        view.lock.lock();
+        try {
+            long nowNanos = System.nanoTime();
+            view.lastAccessNanos = nowNanos;
+            if (view.stale || nowNanos - view.syncedAtNanos > cacheNanos.get(policy)) {
+                sync(view);
+            }
+            if (view.tokens >= 1) {
+                view.tokens -= 1;
+                view.pending++;
+                return (long) view.tokens;
+            }
+            long retryAfterSeconds = (long) Math.ceil((1 - view.tokens) / refillPerMs.get(policy) / 1000);
+            log.warn("Rate limit {} exceeded for key: {}", policy.getName(), key);
+            throw new RateLimitExceededException(policy, Math.max(1, retryAfterSeconds));
+        } finally {
+            view.lock.unlock();
+        }
+    }
+
+    /**
+     * Push locally consumed tokens and pull the shared remaining count. Caller holds the view lock.
+     */
+    private void sync(BucketView view) {
+        Double tokens = refillAndRead(view);
+        if (tokens == null) {
+            createBucket(view);
+            tokens = refillAndRead(view);
+        }
+        view.pending = 0;
+        view.tokens = tokens != null ? tokens : 0;
+        view.syncedAtNanos = System.nanoTime();
+        view.stale = false;
+    }
+
+    /**
+     * Returns the remaining tokens after the refill-and-consume UPDATE, or null if the bucket row does not exist yet.
+     */
+    private Double refillAndRead(BucketView view) {
+        return transactionTemplate.execute(status -> {
+            long now = System.currentTimeMillis();
+            int updated = jdbcTemplate.update(REFILL_AND_CONSUME_SQL, capacities.get(view.policy), now,
+                    refillPerMs.get(view.policy), view.pending, now, view.bucketKey);
+            if (updated == 0) {
+                return null;
+            }
+            return jdbcTemplate.queryForObject(SELECT_TOKENS_SQL, Double.class, view.bucketKey);
+        });
+    }
+
+    private void createBucket(BucketView view) {
+        try {
+            jdbcTemplate.update(INSERT_IF_ABSENT_SQL, view.bucketKey, capacities.get(view.policy),
+                    System.currentTimeMillis(), view.bucketKey);
+        } catch (DuplicateKeyException e) {
+            // Another node created the bucket between our check and insert
+            log.debug("Rate limit bucket {} created concurrently", view.bucketKey);
+        }
+    }
+
+    private BucketView createView(RateLimitPolicy policy, String bucketKey) {
+        if (views.size() >= maxEntries) {
+            evictOne();
+        }
+        return views.computeIfAbsent(bucketKey, k -> new BucketView(policy, bucketKey));
+    }
+
+    private void evictOne() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, BucketView>> it = views.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, BucketView> candidate = it.next();
+            if (candidate.getValue().pending == 0 && candidate.getValue().lastAccessNanos < oldest) {
+                oldest = candidate.getValue().lastAccessNanos;
+                victim = candidate.getKey();
+            }
+        }
+        if (victim != null) {
+            views.remove(victim);
+        }
+    }
+
+    /**
+     * Batch-push consumption of views that have not been synced by a request, so it is not lost
+     * when a key goes quiet, and drop views that have been idle for a whole refill period.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.jdbc.flush-interval-ms:100}")
+    void flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        List<BucketView> flushed = new ArrayList<>();
+        List<Long> flushedAmounts = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+
+        for (BucketView view : views.values()) {
+            if (!view.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (view.pending > 0) {
+                    batch.add(new Object[] {capacities.get(view.policy), now, refillPerMs.get(view.policy),
+                            view.pending, now, view.bucketKey});
+                    flushed.add(view);
+                    flushedAmounts.add(view.pending);
+                } else if (nowNanos - view.lastAccessNanos > TimeUnit.MILLISECONDS.toNanos(periodsMs.get(view.policy))) {
+                    views.remove(view.bucketKey);
+                }
+            } finally {
+                view.lock.unlock();
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(REFILL_AND_CONSUME_SQL, batch));
+        for (int i = 0; i < flushed.size(); i++) {
+            BucketView view = flushed.get(i);
+            view.lock.lock();
+            try {
+                // Keep anything consumed while the batch ran, and re-read the shared count on the next request
+                view.pending -= flushedAmounts.get(i);
+                view.stale = true;
+            } finally {
+                view.lock.unlock();
+            }
+        }
+        log.debug("Flushed {} rate limit buckets", batch.size());
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    void deleteIdleBuckets() {
+        long longestPeriod = periodsMs.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        int deleted = jdbcTemplate.update(DELETE_IDLE_SQL, System.currentTimeMillis() - longestPeriod);
+        log.debug("Deleted {} idle shared rate limit buckets", deleted);
+    }
+
+    private static final class BucketView {
+        // ReentrantLock rather than synchronized so virtual threads do not pin their carrier during the sync
+        private final ReentrantLock lock = new ReentrantLock();
+        private final RateLimitPolicy policy;
+        private final String bucketKey;
+        private double tokens;
+        private long pending;
+        private long syncedAtNanos;
+        private boolean stale = true;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private BucketView(RateLimitPolicy policy, String bucketKey) {
+            this.policy = policy;
+            this.bucketKey = bucketKey;
+        }
+    }
+}
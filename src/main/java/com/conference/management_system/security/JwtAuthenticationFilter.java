@@ -10,18 +10,24 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
     @Override
     protected void doFilterInternal(
@@ -31,7 +37,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -39,17 +45,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
+        claims = resolveClaimsIfNotRevoked(jwt);
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = jwtUtil.hasPrincipalClaims(claims)
+                    ? authenticateFromClaims(claims)
+                    : authenticateFromUserDetails(claims);
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
@@ -57,4 +61,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        JwtPrincipal principal = jwtUtil.toPrincipal(claims);
+        if (principal == null) {
+            log.debug("Rejected JWT with outdated token version for user: {}", claims.getSubject());
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+    
+    /**
+     * Tokens issued before the id and role claims were added still need the user row.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(Claims claims) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!jwtUtil.validateToken(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+    
+    /**
+     * Verify the token at most once per lifetime on this node; later requests reuse the cached claims.
+     */
+    private Claims resolveClaims(String jwt) {
+        Claims claims = verifiedTokenCache.get(jwt);
+        if (claims != null) {
+            return claims;
+        }
+        try {
+            claims = jwtUtil.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+        verifiedTokenCache.put(jwt, claims);
+        return claims;
+    }
+    
+    private Claims resolveClaimsIfNotRevoked(String jwt) {
+        Claims claims = resolveClaims(jwt);
+        if (claims != null && tokenRevocationRegistry.isRevoked(claims)) {
+            log.debug("Rejected revoked JWT for user: {}", claims.getSubject());
+            return null;
+        }
+        return claims;
+    }
 }
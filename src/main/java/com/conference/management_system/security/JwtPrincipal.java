@@ -0,0 +1,39 @@
+package com.conference.management_system.security;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.conference.management_system.entity.User;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticated principal built straight from verified JWT claims, so no user lookup is needed per request.
+ */
+@Getter
+@RequiredArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final User.Role role;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
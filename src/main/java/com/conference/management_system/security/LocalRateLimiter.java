@@ -0,0 +1,143 @@
+package com.conference.management_system.security;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory token buckets with a fixed memory budget. Limits apply per node.
+ * Buckets idle for longer than their refill period are full again, so dropping them loses nothing;
+ * they are swept periodically and, when the budget is exhausted, the most idle of a small sample is evicted.
+ * <p>
+ * Buckets keyed by username (login attempts per account) have a budget of their own and are never evicted while
+ * live: an attacker churning through client keys must not be able to push out a victim's bucket and so reset its
+ * brute-force limit. While that budget is exhausted, attempts for usernames without a bucket are rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private final Environment environment;
+
+    @Value("${rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${rate-limit.max-username-entries:100000}")
+    private int maxUsernameEntries;
+
+    @Value("${rate-limit.sweep-interval-ms:60000}")
+    private long sweepIntervalMs;
+
+    private final Map<String, BucketEntry> buckets = new ConcurrentHashMap<>();
+    private final Map<String, BucketEntry> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitPolicy, Bandwidth> bandwidths = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Long> idleTimeoutNanos = new EnumMap<>(RateLimitPolicy.class);
+
+    @PostConstruct
+    void init() {
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            long capacity = policy.capacity(environment);
+            Duration period = policy.period(environment);
+            bandwidths.put(policy, Bandwidth.classic(capacity, Refill.intervally(capacity, period)));
+            idleTimeoutNanos.put(policy, period.toNanos());
+            log.info("Rate limit policy {}: {} requests per {}", policy.getName(), capacity, period);
+        }
+    }
+
+    @Override
+    public long consume(RateLimitPolicy policy, String key) {
+        String bucketKey = policy.getName() + ':' + key;
+        BucketEntry entry = bucketsFor(policy).get(bucketKey);
+        if (entry == null) {
+            entry = createEntry(policy, bucketKey);
+        }
+        entry.lastAccessNanos = System.nanoTime();
+
+        ConsumptionProbe probe = entry.bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+            log.warn("Rate limit {} exceeded for key: {}", policy.getName(), key);
+            throw new RateLimitExceededException(policy, retryAfterSeconds);
+        }
+        return probe.getRemainingTokens();
+    }
+
+    private BucketEntry createEntry(RateLimitPolicy policy, String bucketKey) {
+        Map<String, BucketEntry> target = bucketsFor(policy);
+        if (target == usernameBuckets) {
+            if (usernameBuckets.size() >= maxUsernameEntries) {
+                // Fail closed rather than evict a live bucket; the next sweep frees the idle ones
+                log.warn("Rate limit {} has no room for a new bucket, rejecting key: {}", policy.getName(), bucketKey);
+                throw new RateLimitExceededException(policy,
+                        Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sweepIntervalMs)));
+            }
+        } else if (buckets.size() >= maxEntries) {
+            evictOne();
+        }
+        return target.computeIfAbsent(bucketKey, k -> new BucketEntry(policy,
+                Bucket.builder().addLimit(bandwidths.get(policy)).build()));
+    }
+
+    private Map<String, BucketEntry> bucketsFor(RateLimitPolicy policy) {
+        return policy.getKeyType() == RateLimitPolicy.KeyType.USERNAME ? usernameBuckets : buckets;
+    }
+
+    // Sampled LRU: cheap, and good enough to keep the map inside its budget under key churn
+    private void evictOne() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, BucketEntry>> it = buckets.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, BucketEntry> candidate = it.next();
+            if (candidate.getValue().lastAccessNanos < oldest) {
+                oldest = candidate.getValue().lastAccessNanos;
+                victim = candidate.getKey();
+            }
+        }
+        if (victim != null) {
+            buckets.remove(victim);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size() + usernameBuckets.size();
+        buckets.values().removeIf(entry -> now - entry.lastAccessNanos > idleTimeoutNanos.get(entry.policy));
+        usernameBuckets.values().removeIf(entry -> now - entry.lastAccessNanos > idleTimeoutNanos.get(entry.policy));
+        int after = buckets.size() + usernameBuckets.size();
+        log.debug("Rate limiter sweep evicted {} idle buckets, {} remaining", before - after, after);
+    }
+
+    private static final class BucketEntry {
+        private final RateLimitPolicy policy;
+        private final Bucket bucket;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private BucketEntry(RateLimitPolicy policy, Bucket bucket) {
+            this.policy = policy;
+            this.bucket = bucket;
+        }
+    }
+}
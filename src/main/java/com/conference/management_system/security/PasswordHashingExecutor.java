@@ -0,0 +1,115 @@
+package com.conference.management_system.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.conference.management_system.exception.ApiException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPU count so that a login storm cannot starve
+ * request threads serving other endpoints. The queue is bounded; when it is full callers are
+ * rejected immediately with 503 instead of piling up behind the hashing work.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    // Hash compared against when the user does not exist, so unknown usernames take as long as wrong passwords
+    private String dummyHash;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        dummyHash = passwordEncoder.encode("dummy-password-for-timing");
+        log.info("Password hashing pool started: threads={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password against a stored hash. A null hash (unknown user) is still checked against
+     * a dummy hash and always returns false.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            submit(() -> passwordEncoder.matches(rawPassword, dummyHash));
+            return false;
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full ({} pending), rejecting request", executor.getQueue().size());
+            throw ApiException.serviceUnavailable("Authentication service is busy. Please try again shortly.");
+        }
+        try {
+            // Request threads are virtual, so blocking here parks cheaply instead of holding a platform thread
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeoutMs);
+            throw ApiException.serviceUnavailable("Authentication service is busy. Please try again shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ApiException.serviceUnavailable("Authentication service is busy. Please try again shortly.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.conference.management_system.security;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a rate limit bucket is empty; carries the real time until the next token is available.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final RateLimitPolicy policy;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(RateLimitPolicy policy, long retryAfterSeconds) {
+        super("Too many requests. Please try again in " + retryAfterSeconds + " seconds.");
+        this.policy = policy;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
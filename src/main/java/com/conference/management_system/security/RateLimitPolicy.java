@@ -0,0 +1,42 @@
+package com.conference.management_system.security;
+
+import java.time.Duration;
+
+import org.springframework.core.env.Environment;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rate limit policies and their defaults. Each one can be overridden with
+ * {@code rate-limit.<name>.capacity} and {@code rate-limit.<name>.period}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitPolicy {
+    LOGIN_IP("login-ip", KeyType.IP, 5, Duration.ofMinutes(1)),
+    LOGIN_USERNAME("login-username", KeyType.USERNAME, 10, Duration.ofMinutes(15)),
+    SIGNUP_IP("signup-ip", KeyType.IP, 10, Duration.ofHours(1)),
+    SESSION_REGISTRATION("session-registration", KeyType.USER, 30, Duration.ofMinutes(1)),
+    FEEDBACK("feedback", KeyType.USER, 20, Duration.ofMinutes(1)),
+    PROPOSAL("proposal", KeyType.USER, 10, Duration.ofHours(1));
+
+    private final String name;
+    private final KeyType keyType;
+    private final long defaultCapacity;
+    private final Duration defaultPeriod;
+
+    public long capacity(Environment environment) {
+        return environment.getProperty("rate-limit." + name + ".capacity", Long.class, defaultCapacity);
+    }
+
+    public Duration period(Environment environment) {
+        return environment.getProperty("rate-limit." + name + ".period", Duration.class, defaultPeriod);
+    }
+
+    public enum KeyType {
+        IP,
+        USERNAME,
+        USER
+    }
+}
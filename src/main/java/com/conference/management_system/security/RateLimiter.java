@@ -0,0 +1,16 @@
+package com.conference.management_system.security;
+
+/**
+ * Token bucket rate limiter. The backend is chosen with {@code rate-limit.backend}:
+ * {@code local} keeps buckets in memory per node, {@code jdbc} shares them across nodes through the database.
+ */
+public interface RateLimiter {
+
+    /**
+     * Consume one token for the given policy and key.
+     *
+     * @return the number of tokens left in the bucket
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    long consume(RateLimitPolicy policy, String key);
+}
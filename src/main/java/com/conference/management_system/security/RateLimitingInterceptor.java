@@ -1,84 +1,83 @@
 package com.conference.management_system.security;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 
 /**
- * Rate limiting interceptor to prevent brute force attacks on login endpoint.
- * Allows 5 login attempts per minute per IP address.
+ * Applies the per-route rate limit policies. Anonymous routes are keyed on the client IP,
+ * authenticated write routes on the user id. Login is additionally limited per username in AuthService,
+ * since the username is only known once the request body has been read.
  */
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class RateLimitingInterceptor implements HandlerInterceptor {
-    
-    // Store buckets per IP address
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
-    
-    // 5 attempts per minute (300 seconds)
-    private final Bandwidth limit = Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(1)));
-    
+
+    private static final List<Route> ROUTES = List.of(
+            new Route("POST", "/api/auth/login", false, RateLimitPolicy.LOGIN_IP),
+            new Route("POST", "/api/auth/register", false, RateLimitPolicy.SIGNUP_IP),
+            new Route("POST", "/api/registrations/", true, RateLimitPolicy.SESSION_REGISTRATION),
+            new Route("POST", "/api/feedback", false, RateLimitPolicy.FEEDBACK),
+            new Route("POST", "/api/proposals", false, RateLimitPolicy.PROPOSAL)
+    );
+
+    private final RateLimiter rateLimiter;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        // Only rate limit login attempts
-        if (request.getRequestURI().contains("/api/auth/login")) {
-            String clientIp = getClientIp(request);
-            
-            Bucket bucket = cache.computeIfAbsent(clientIp, k -> Bucket4j.builder()
-                    .addLimit(limit)
-                    .build());
-            
-            // Try to consume a token
-            if (bucket.tryConsume(1)) {
-                log.debug("Login attempt allowed from IP: {}", clientIp);
-                return true;
-            } else {
-                // Rate limit exceeded - calculate retry-after
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                
-                // Estimate time to wait (approximately 60 seconds for next available slot)
-                long retryAfterSeconds = 60;
-                response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(retryAfterSeconds));
-                response.getWriter().write("{\"error\":\"Too many login attempts. Please try again in " + 
-                        retryAfterSeconds + " seconds.\"}");
-                log.warn("Rate limit exceeded for IP: {} - Too many login attempts", clientIp);
-                return false;
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        for (Route route : ROUTES) {
+            if (route.matches(method, uri)) {
+                long remaining = rateLimiter.consume(route.policy(), resolveKey(route.policy(), request));
+                response.addHeader("X-Rate-Limit-Remaining", String.valueOf(remaining));
             }
         }
-        
         return true;
     }
-    
+
+    private String resolveKey(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.getKeyType() == RateLimitPolicy.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+                return "user:" + principal.getId();
+            }
+        }
+        return "ip:" + getClientIp(request);
+    }
+
     /**
      * Extract client IP address from request.
      * Handles X-Forwarded-For header for proxied requests.
      */
-    private String getClientIp(HttpServletRequest request) {
+    public static String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             // Take the first IP if multiple are present
-            return xForwardedFor.split(",")[0].trim();
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
         }
-        
+
         String xRealIp = request.getHeader("X-Real-IP");
         if (xRealIp != null && !xRealIp.isEmpty()) {
             return xRealIp;
         }
-        
+
         return request.getRemoteAddr();
     }
-}
 
+    private record Route(String method, String path, boolean prefix, RateLimitPolicy policy) {
+
+        boolean matches(String requestMethod, String requestUri) {
+            return method.equals(requestMethod)
+                    && (prefix ? requestUri.startsWith(path) : requestUri.equals(path));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.conference.management_system.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.conference.management_system.entity.RevokedToken;
+import com.conference.management_system.repository.RevokedTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Denylist of JWTs revoked before their expiration, keyed by the jti claim.
+ * <p>
+ * The revoked_tokens table is authoritative. Each node keeps a Bloom filter of the live jtis in front of it,
+ * so the common "not revoked" answer needs no I/O; only a possible hit is confirmed against the table.
+ * Revocations made on other nodes are picked up every refresh interval. Expired rows are purged and the
+ * filter is rebuilt from the remaining ones periodically, so both stay bounded by the tokens still alive.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Re-read a little before the last refresh so revocations from nodes with a lagging clock are not missed
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastRefresh;
+
+    // Confirmed revocations (jti -> token expiry in epoch millis), so a replayed revoked token hits the table once
+    private final Map<String, Long> confirmed = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (confirmed.containsKey(jti)) {
+            return true;
+        }
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        if (revoked) {
+            confirmed.put(jti, claims.getExpiration().getTime());
+        } else {
+            log.debug("Revocation filter false positive for jti: {}", jti);
+        }
+        return revoked;
+    }
+
+    /**
+     * Revoke a verified token until its expiration.
+     *
+     * @return false if the token has no jti (issued before revocation existed) and cannot be revoked individually
+     */
+    public boolean revoke(String token, Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return false;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, null));
+        // Order matters: rebuild() re-adds everything in confirmed after swapping in a fresh filter
+        confirmed.put(jti, claims.getExpiration().getTime());
+        filter.put(jti);
+        verifiedTokenCache.evict(token);
+        log.info("Revoked token jti={} for user: {}", jti, claims.getSubject());
+        return true;
+    }
+
+    /**
+     * Add revocations made on other nodes since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(
+                lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS), now);
+        BloomFilter current = filter;
+        jtis.forEach(current::put);
+        lastRefresh = now;
+    }
+
+    /**
+     * Purge expired revocations and rebuild the filter from the live ones; a Bloom filter cannot forget entries.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, jtis.size() * 2), FALSE_POSITIVE_RATE);
+        jtis.forEach(rebuilt::put);
+        filter = rebuilt;
+        lastRefresh = now;
+
+        long nowMillis = System.currentTimeMillis();
+        confirmed.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        confirmed.keySet().forEach(rebuilt::put);
+        log.info("Rebuilt token revocation filter with {} live entries, purged {} expired", jtis.size(), purged);
+    }
+}
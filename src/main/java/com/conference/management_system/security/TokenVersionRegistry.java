@@ -0,0 +1,83 @@
+package com.conference.management_system.security;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.conference.management_system.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user token version, persisted in {@code users.token_version}. Every JWT carries the version that was
+ * current when it was issued; bumping the version (role change, deletion) invalidates all older tokens of that
+ * user on every node and across restarts. A token of a user that no longer exists is never current.
+ * <p>
+ * Versions are read through a cache kept for {@code jwt.token-version.cache-ms}, so a request only reaches the
+ * database on a miss. A bump clears this node's entry once it commits; other nodes see it within the cache time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    @Value("${jwt.token-version.cache-ms:5000}")
+    private long cacheMs;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Optional<Integer> current = currentVersion(userId);
+        return current.isPresent() && tokenVersion >= current.get();
+    }
+
+    /**
+     * Bump the user's version. Must run in the transaction that changes or deletes the user.
+     */
+    public void invalidate(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        versions.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Dropped again once committed, in case a request cached the old version in between
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.remove(userId);
+                }
+            });
+        }
+        log.info("Invalidated tokens for userId={}", userId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:60000}")
+    void evictExpired() {
+        versions.values().removeIf(cached -> cached.isExpired(cacheMs));
+    }
+
+    // Empty for a user that does not exist
+    private Optional<Integer> currentVersion(Long userId) {
+        CachedVersion cached = versions.get(userId);
+        if (cached == null || cached.isExpired(cacheMs)) {
+            cached = new CachedVersion(userRepository.findTokenVersionById(userId), System.nanoTime());
+            versions.put(userId, cached);
+        }
+        return cached.version();
+    }
+
+    private record CachedVersion(Optional<Integer> version, long loadedAtNanos) {
+
+        boolean isExpired(long cacheMs) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(cacheMs);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.conference.management_system.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of JWTs whose signature has already been verified on this node.
+ * Entries are keyed by a SHA-256 digest of the compact token (raw tokens are never kept)
+ * and are evicted as soon as the token's own expiration has passed: on lookup, and by a sweep every
+ * {@code jwt.cache.sweep-interval-ms}. Inserting is constant time; while the cache is full of live tokens, new
+ * tokens are not cached and are simply verified on every request until the sweep makes room.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Map<String, Claims> cache = new ConcurrentHashMap<>();
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Return the verified claims for a token, or null if it is unknown or already expired.
+     */
+    public Claims get(String token) {
+        String key = digest(token);
+        Claims claims = cache.get(key);
+        if (claims == null) {
+            return null;
+        }
+        if (isExpired(claims, System.currentTimeMillis())) {
+            cache.remove(key);
+            return null;
+        }
+        return claims;
+    }
+
+    public void put(String token, Claims claims) {
+        if (cache.size() >= maxEntries) {
+            return;
+        }
+        cache.put(digest(token), claims);
+    }
+
+    public void evict(String token) {
+        cache.remove(digest(token));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:60000}")
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = cache.size();
+        cache.values().removeIf(claims -> isExpired(claims, now));
+        log.debug("Evicted {} expired tokens from verified token cache", before - cache.size());
+    }
+
+    private boolean isExpired(Claims claims, long now) {
+        return claims.getExpiration() == null || claims.getExpiration().getTime() <= now;
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
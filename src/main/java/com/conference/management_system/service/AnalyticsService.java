@@ -0,0 +1,102 @@
+package com.conference.management_system.service;
+
+import com.conference.management_system.dto.DailyRegistrationsResponse;
+import com.conference.management_system.dto.RoomAnalyticsResponse;
+import com.conference.management_system.dto.SessionAnalyticsResponse;
+import com.conference.management_system.dto.SpeakerAnalyticsResponse;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.exception.ApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conference dashboards for coordinators, served from the {@link AnalyticsViews} snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final AnalyticsViews views;
+
+    // Generations count refreshes on this node only; the id keeps other nodes' and earlier runs' tags from matching
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    /**
+     * Weak validator of every analytics endpoint; changes with each refresh.
+     */
+    public String getETag() {
+        return "W/\"analytics-" + instanceId + "-" + views.snapshot().generation() + "\"";
+    }
+
+    public List<SessionAnalyticsResponse> getTopRatedSessions(Integer limit, Integer minRatings) {
+        long min = minRatings(minRatings);
+        return views.snapshot().sessions().stream()
+                .filter(s -> !Session.SessionStatus.CANCELLED.name().equals(s.status()))
+                .filter(s -> s.ratingCount() >= min)
+                .limit(limit(limit))
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public List<SpeakerAnalyticsResponse> getSpeakerLeaderboard(Integer limit, Integer minRatings) {
+        long min = minRatings(minRatings);
+        return views.snapshot().speakers().stream()
+                .filter(s -> s.ratingCount() >= min)
+                .limit(limit(limit))
+                .map(s -> new SpeakerAnalyticsResponse(s.speakerId(), s.username(), s.fullName(), s.sessionCount(),
+                        s.participants(), s.ratingCount(), s.average()))
+                .toList();
+    }
+
+    public List<RoomAnalyticsResponse> getRoomFillRates() {
+        return views.snapshot().rooms().stream()
+                .map(r -> new RoomAnalyticsResponse(r.room(), r.sessionCount(), r.capacity(), r.participants(),
+                        r.fillRate()))
+                .toList();
+    }
+
+    public List<DailyRegistrationsResponse> getDailyRegistrations(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw ApiException.badRequest("from must not be after to");
+        }
+        return views.snapshot().days().stream()
+                .filter(d -> from == null || !d.date().isBefore(from))
+                .filter(d -> to == null || !d.date().isAfter(to))
+                .map(d -> new DailyRegistrationsResponse(d.date(), d.registrations(), d.confirmed(), d.waitlisted(),
+                        d.cancelled(), d.attended()))
+                .toList();
+    }
+
+    private SessionAnalyticsResponse mapToResponse(AnalyticsViews.SessionStats s) {
+        double fillRate = s.maxParticipants() > 0 ? (double) s.participants() / s.maxParticipants() : 0.0;
+        return new SessionAnalyticsResponse(s.sessionId(), s.title(), s.speakerId(), s.room(), s.sessionTime(),
+                s.status(), s.maxParticipants(), s.participants(), fillRate, s.ratingCount(), s.average());
+    }
+
+    private static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw ApiException.badRequest("limit must be at least 1");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    private static long minRatings(Integer requested) {
+        if (requested == null) {
+            return 1;
+        }
+        if (requested < 0) {
+            throw ApiException.badRequest("minRatings must not be negative");
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,290 @@
+package com.conference.management_system.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.exception.ApiException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of the {@code analytics_*} materialized views behind the analytics dashboards.
+ * <p>
+ * The views (see {@code database/migrations/024_analytics_views.sql}) summarize sessions, seat stripes, rating
+ * summaries and registrations. A refresh runs {@code REFRESH MATERIALIZED VIEW CONCURRENTLY} on each of them,
+ * which builds the new contents beside the old ones so nothing reading the views waits, and then loads them whole;
+ * they hold a row per session, speaker, room and day, so dashboards are served from memory without touching the
+ * database. The snapshot is loaded on first use. After that it is checked every {@code analytics.check-interval-ms}
+ * and refreshed once {@code analytics.change-threshold} registration or rating changes were made on this node, or
+ * once it is older than {@code analytics.max-age-ms}, which bounds how long changes made on other nodes take to
+ * show. An advisory lock keeps two nodes from refreshing at once; a node that does not get it only reloads.
+ * <p>
+ * With {@code analytics.materialized-views=false}, e.g. on a database without the views, the view queries are
+ * run directly on each refresh instead. Refresh time is published as {@code analytics.refresh}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class AnalyticsViews {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SessionSeatCounter seatCounter;
+    private final SessionRatingAggregates ratingAggregates;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${analytics.materialized-views:true}")
+    private boolean materializedViews;
+
+    @Value("${analytics.change-threshold:100}")
+    private long changeThreshold;
+
+    @Value("${analytics.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    // Held while refreshing, so concurrent first reads and the scheduled check do not refresh twice
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    // Local change count the current snapshot was loaded at
+    private long changesAtRefresh;
+
+    private long generation;
+
+    private Timer refreshTimer;
+
+    @PostConstruct
+    void init() {
+        refreshTimer = Timer.builder("analytics.refresh")
+                .description("Time to refresh and reload the analytics views")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The current snapshot, loading the first one if needed.
+     */
+    Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                refresh();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (snapshot == null) {
+            throw ApiException.serviceUnavailable("Analytics are not available right now. Please try again shortly.");
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.check-interval-ms:10000}",
+            initialDelayString = "${analytics.check-interval-ms:10000}")
+    void refreshIfStale() {
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            long changed = changes() - changesAtRefresh;
+            if (changed >= changeThreshold || current.isOlderThan(maxAgeMs)) {
+                log.debug("Refreshing analytics: {} changes, {} ms old", changed,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - current.loadedAtNanos()));
+                refresh();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock; a failed refresh keeps the previous snapshot
+    private void refresh() {
+        long changes = changes();
+        try {
+            Snapshot loaded = refreshTimer.record(() -> transactionTemplate.execute(status -> load()));
+            snapshot = loaded;
+            changesAtRefresh = changes;
+        } catch (DataAccessException e) {
+            log.warn("Analytics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot load() {
+        if (materializedViews) {
+            refreshViews();
+        }
+        List<SessionStats> sessions = new ArrayList<>(jdbcTemplate.query(View.SESSIONS.select(materializedViews),
+                (rs, i) -> new SessionStats(rs.getLong("session_id"), rs.getString("title"),
+                        rs.getLong("speaker_id"), rs.getString("room"), toLocalDateTime(rs.getTimestamp("session_time")),
+                        rs.getString("status"), rs.getInt("max_participants"), rs.getLong("participants"),
+                        rs.getLong("rating_count"), rs.getLong("rating_sum"))));
+        sessions.sort(Comparator.comparingDouble(SessionStats::average).reversed()
+                .thenComparing(Comparator.comparingLong(SessionStats::ratingCount).reversed())
+                .thenComparingLong(SessionStats::sessionId));
+
+        List<SpeakerStats> speakers = new ArrayList<>(jdbcTemplate.query(View.SPEAKERS.select(materializedViews),
+                (rs, i) -> new SpeakerStats(rs.getLong("speaker_id"), rs.getString("username"),
+                        rs.getString("full_name"), rs.getLong("session_count"), rs.getLong("participants"),
+                        rs.getLong("rating_count"), rs.getLong("rating_sum"))));
+        speakers.sort(Comparator.comparingDouble(SpeakerStats::average).reversed()
+                .thenComparing(Comparator.comparingLong(SpeakerStats::ratingCount).reversed())
+                .thenComparingLong(SpeakerStats::speakerId));
+
+        List<RoomStats> rooms = new ArrayList<>(jdbcTemplate.query(View.ROOMS.select(materializedViews),
+                (rs, i) -> new RoomStats(rs.getString("room"), rs.getLong("session_count"), rs.getLong("capacity"),
+                        rs.getLong("participants"))));
+        rooms.sort(Comparator.comparingDouble(RoomStats::fillRate).reversed()
+                .thenComparing(RoomStats::room));
+
+        List<DailyRegistrations> days = new ArrayList<>(jdbcTemplate.query(View.DAYS.select(materializedViews),
+                (rs, i) -> new DailyRegistrations(rs.getDate("registration_date").toLocalDate(),
+                        rs.getLong("registrations"), rs.getLong("confirmed"), rs.getLong("waitlisted"),
+                        rs.getLong("cancelled"), rs.getLong("attended"))));
+        days.sort(Comparator.comparing(DailyRegistrations::date));
+
+        log.debug("Analytics loaded: {} sessions, {} speakers, {} rooms, {} days",
+                sessions.size(), speakers.size(), rooms.size(), days.size());
+        return new Snapshot(List.copyOf(sessions), List.copyOf(speakers), List.copyOf(rooms), List.copyOf(days),
+                Instant.now(), ++generation, System.nanoTime());
+    }
+
+    private void refreshViews() {
+        // Released when the transaction ends; a node that does not get it reads what the other node refreshes
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('analytics_views'))", Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Analytics views are being refreshed by another node");
+            return;
+        }
+        for (View view : View.values()) {
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view.viewName);
+        }
+    }
+
+    private long changes() {
+        return seatCounter.changes() + ratingAggregates.changes();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * The views and their definitions, which must match {@code database/migrations/024_analytics_views.sql}.
+     */
+    private enum View {
+        SESSIONS("analytics_session_stats", """
+                SELECT s.id AS session_id, s.title, s.speaker_id, s.room, s.session_time, s.status, s.max_participants,
+                       COALESCE(p.participants, 0) AS participants,
+                       COALESCE(r.rating_count, 0) AS rating_count,
+                       COALESCE(r.rating_sum, 0) AS rating_sum
+                FROM sessions s
+                LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+                    ON p.session_id = s.id
+                LEFT JOIN session_rating_summaries r ON r.session_id = s.id"""),
+        SPEAKERS("analytics_speaker_stats", """
+                SELECT u.id AS speaker_id, u.username, u.full_name, COUNT(*) AS session_count,
+                       COALESCE(SUM(p.participants), 0) AS participants,
+                       COALESCE(SUM(r.rating_count), 0) AS rating_count,
+                       COALESCE(SUM(r.rating_sum), 0) AS rating_sum
+                FROM sessions s
+                JOIN users u ON u.id = s.speaker_id
+                LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+                    ON p.session_id = s.id
+                LEFT JOIN session_rating_summaries r ON r.session_id = s.id
+                WHERE s.status <> 'CANCELLED'
+                GROUP BY u.id, u.username, u.full_name"""),
+        ROOMS("analytics_room_stats", """
+                SELECT s.room, COUNT(*) AS session_count,
+                       COALESCE(SUM(s.max_participants), 0) AS capacity,
+                       COALESCE(SUM(p.participants), 0) AS participants
+                FROM sessions s
+                LEFT JOIN (SELECT session_id, SUM(used) AS participants FROM session_seat_stripes GROUP BY session_id) p
+                    ON p.session_id = s.id
+                WHERE s.status <> 'CANCELLED'
+                GROUP BY s.room"""),
+        DAYS("analytics_daily_registrations", """
+                SELECT CAST(registered_at AS DATE) AS registration_date, COUNT(*) AS registrations,
+                       SUM(CASE WHEN status = 'CONFIRMED' THEN 1 ELSE 0 END) AS confirmed,
+                       SUM(CASE WHEN status = 'WAITLISTED' THEN 1 ELSE 0 END) AS waitlisted,
+                       SUM(CASE WHEN status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelled,
+                       SUM(CASE WHEN status = 'ATTENDED' THEN 1 ELSE 0 END) AS attended
+                FROM registrations
+                WHERE registered_at IS NOT NULL
+                GROUP BY CAST(registered_at AS DATE)""");
+
+        private final String viewName;
+        private final String definition;
+
+        View(String viewName, String definition) {
+            this.viewName = viewName;
+            this.definition = definition;
+        }
+
+        String select(boolean materialized) {
+            return materialized ? "SELECT * FROM " + viewName : "SELECT * FROM (" + definition + ") v";
+        }
+    }
+
+    /**
+     * Immutable contents of the views, each list in the order its dashboard shows it.
+     */
+    record Snapshot(List<SessionStats> sessions, List<SpeakerStats> speakers, List<RoomStats> rooms,
+            List<DailyRegistrations> days, Instant refreshedAt, long generation, long loadedAtNanos) {
+
+        boolean isOlderThan(long ms) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(ms);
+        }
+    }
+
+    record SessionStats(long sessionId, String title, long speakerId, String room, LocalDateTime sessionTime,
+            String status, int maxParticipants, long participants, long ratingCount, long ratingSum) {
+
+        double average() {
+            return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+        }
+    }
+
+    record SpeakerStats(long speakerId, String username, String fullName, long sessionCount, long participants,
+            long ratingCount, long ratingSum) {
+
+        double average() {
+            return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+        }
+    }
+
+    record RoomStats(String room, long sessionCount, long capacity, long participants) {
+
+        double fillRate() {
+            return capacity == 0 ? 0.0 : (double) participants / capacity;
+        }
+    }
+
+    record DailyRegistrations(LocalDate date, long registrations, long confirmed, long waitlisted, long cancelled,
+            long attended) {
+    }
+}
@@ -1,13 +1,8 @@
 package com.conference.management_system.service;
 
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.conference.management_system.dto.AuthResponse;
 import com.conference.management_system.dto.LoginRequest;
@@ -16,7 +11,15 @@ import com.conference.management_system.dto.UserResponse;
 import com.conference.management_system.entity.User;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
 import com.conference.management_system.security.JwtUtil;
+import com.conference.management_system.security.PasswordHashingExecutor;
+import com.conference.management_system.security.RateLimitPolicy;
+import com.conference.management_system.security.RateLimiter;
+import com.conference.management_system.security.TokenRevocationRegistry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,11 +30,16 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
     private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
+    private final RateLimiter rateLimiter;
+    private final CurrentUserContext currentUserContext;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
-    @Transactional
+    /**
+     * Not transactional: the password is hashed first, on the bounded hashing pool, so no database connection is
+     * held while the request waits there. The insert runs in the repository's own transaction.
+     */
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering user: {}", request.getUsername());
         // Validasi username dan email sudah terdaftar
@@ -48,11 +56,17 @@ public class AuthService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setFullName(request.getFullName());
         user.setRole(User.Role.USER);
         
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Taken by a concurrent registration since the checks above
+            log.warn("Registration lost a race for username or email: {}", request.getUsername());
+            throw ApiException.conflict("Username or email already exists");
+        }
         log.info("User registered successfully: {}", request.getUsername());
         
         // Generate JWT token
@@ -69,19 +83,21 @@ public class AuthService {
     
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for username: {}", request.getUsername());
+        // Per-username limit complements the per-IP one, which distributed credential stuffing can dodge
+        rateLimiter.consume(RateLimitPolicy.LOGIN_USERNAME, request.getUsername().toLowerCase());
         try {
-            // Authenticate user
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
-                    )
-            );
+            // Load the user once; the same row serves authentication and the response
+            User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+            
+            // Unknown users are still hashed against a dummy so timing does not reveal valid usernames
+            boolean matches = passwordHashing.matches(
+                    request.getPassword(), user != null ? user.getPassword() : null);
+            if (user == null || !matches) {
+                throw new BadCredentialsException("Invalid username or password");
+            }
             log.info("Authentication successful for user: {}", request.getUsername());
             
-            // Get user details
-                User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> ApiException.notFound("User not found"));
+            rehashIfNeeded(user, request.getPassword());
             
             // Generate JWT token
             String token = jwtUtil.generateToken(user);
@@ -106,21 +122,49 @@ public class AuthService {
     }
 
     /**
-     * Return the currently authenticated user profile.
-     * Throws RuntimeException to be handled by global exception handler if unauthenticated.
+     * Re-encode the password with the configured BCrypt cost when the stored hash uses an older one,
+     * so the cost can be tuned without a migration.
      */
-    public UserResponse currentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            log.warn("currentUser called without authentication");
-            throw ApiException.unauthorized("User not authenticated");
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashing.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            userRepository.updatePassword(user.getId(), passwordHashing.encode(rawPassword));
+            log.info("Password hash upgraded for user: {}", user.getUsername());
+        } catch (ApiException e) {
+            // Hashing pool is saturated - the upgrade will simply happen on a later login
+            log.debug("Skipped password rehash for user: {}", user.getUsername());
         }
+    }
 
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> ApiException.notFound("User not found"));
+    /**
+     * Revoke the presented token so it stops working on every node before its expiration.
+     * Invalid or already expired tokens need no revocation.
+     */
+    public void logout(String token) {
+        if (token == null) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Logout with invalid token: {}", e.getMessage());
+            return;
+        }
+        if (!tokenRevocationRegistry.revoke(token, claims)) {
+            log.warn("Token without jti for user {} cannot be revoked, it stays valid until it expires",
+                    claims.getSubject());
+        }
+    }
 
-        return UserResponse.fromUser(user);
+    /**
+     * Return the currently authenticated user profile.
+     * Throws ApiException to be handled by global exception handler if unauthenticated.
+     */
+    public UserResponse currentUser() {
+        return UserResponse.fromUser(currentUserContext.getUser());
     }
 }
 
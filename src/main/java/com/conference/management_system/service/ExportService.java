@@ -0,0 +1,339 @@
+package com.conference.management_system.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.SessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streaming CSV and NDJSON exports of large lists.
+ * <p>
+ * Rows are read with plain JDBC on a forward-only, read-only cursor fetching {@code export.fetch-size} rows at a
+ * time (PostgreSQL only uses a cursor inside a transaction, so each export runs in a read-only one) and written to
+ * the response as they arrive. Nothing is collected, so memory stays flat however many rows there are; the export
+ * holds one connection for as long as the client takes to download it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final List<Column> REGISTRATION_COLUMNS = List.of(
+            new Column("id", ColumnType.NUMBER), new Column("user_id", ColumnType.NUMBER),
+            new Column("username", ColumnType.TEXT), new Column("full_name", ColumnType.TEXT),
+            new Column("email", ColumnType.TEXT), new Column("status", ColumnType.TEXT),
+            new Column("registered_at", ColumnType.TIMESTAMP));
+
+    private static final String REGISTRATIONS_SQL = "SELECT r.id, r.user_id, u.username, u.full_name, u.email, "
+            + "r.status, r.registered_at FROM registrations r JOIN users u ON u.id = r.user_id "
+            + "WHERE r.session_id = ? ORDER BY r.registered_at, r.id";
+
+    private static final List<Column> FEEDBACK_COLUMNS = List.of(
+            new Column("id", ColumnType.NUMBER), new Column("user_id", ColumnType.NUMBER),
+            new Column("username", ColumnType.TEXT), new Column("rating", ColumnType.NUMBER),
+            new Column("comment", ColumnType.TEXT), new Column("created_at", ColumnType.TIMESTAMP));
+
+    private static final String FEEDBACK_SQL = "SELECT f.id, f.user_id, u.username, f.rating, f.comment, "
+            + "f.created_at FROM feedback f JOIN users u ON u.id = f.user_id "
+            + "WHERE f.session_id = ? ORDER BY f.created_at, f.id";
+
+    private static final List<Column> USER_COLUMNS = List.of(
+            new Column("id", ColumnType.NUMBER), new Column("username", ColumnType.TEXT),
+            new Column("email", ColumnType.TEXT), new Column("full_name", ColumnType.TEXT),
+            new Column("role", ColumnType.TEXT), new Column("created_at", ColumnType.TIMESTAMP));
+
+    private static final String USERS_SQL = "SELECT id, username, email, full_name, role, created_at "
+            + "FROM users ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SessionRepository sessionRepository;
+    private final JsonMapper jsonMapper;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Export exportSessionRegistrations(Long sessionId, String format) {
+        requireSession(sessionId);
+        return export("session-" + sessionId + "-registrations", format, REGISTRATIONS_SQL, REGISTRATION_COLUMNS,
+                sessionId);
+    }
+
+    public Export exportSessionFeedback(Long sessionId, String format) {
+        requireSession(sessionId);
+        return export("session-" + sessionId + "-feedback", format, FEEDBACK_SQL, FEEDBACK_COLUMNS, sessionId);
+    }
+
+    public Export exportUsers(String format) {
+        return export("users", format, USERS_SQL, USER_COLUMNS);
+    }
+
+    // Checked up front, since once streaming has started the status can no longer become 404
+    private void requireSession(Long sessionId) {
+        if (!sessionRepository.existsById(sessionId)) {
+            throw ApiException.notFound("Session not found");
+        }
+    }
+
+    private Export export(String name, String format, String sql, List<Column> columns, Object... args) {
+        Format exportFormat = Format.parse(format);
+        return new Export(name + "." + exportFormat.extension, exportFormat.mediaType,
+                out -> stream(out, exportFormat, sql, columns, args));
+    }
+
+    private void stream(OutputStream out, Format format, String sql, List<Column> columns, Object[] args)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long started = System.nanoTime();
+        long[] count = {0};
+        try {
+            rows.header(columns);
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                return statement;
+            }, resultSet -> {
+                try {
+                    rows.row(resultSet, columns);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            rows.finish();
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor and its transaction are already closed
+            log.info("Export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        log.info("Export finished: {} rows in {} ms", count[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        static Format parse(String format) {
+            if (format == null) {
+                return CSV;
+            }
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Unknown export format: " + format + " (use csv or ndjson)");
+            }
+        }
+    }
+
+    /**
+     * A not yet started export; the query runs when the response body is written.
+     */
+    public record Export(String fileName, MediaType mediaType, StreamingResponseBody body) {
+
+        /**
+         * Download response, optionally gzip-compressed as a {@code .gz} file.
+         */
+        public ResponseEntity<StreamingResponseBody> toResponse(boolean gzip) {
+            if (!gzip) {
+                return ResponseEntity.ok()
+                        .contentType(mediaType)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment(fileName))
+                        .body(body);
+            }
+            StreamingResponseBody compressed = out -> {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                body.writeTo(gzipOut);
+                gzipOut.finish();
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/gzip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, attachment(fileName + ".gz"))
+                    .body(compressed);
+        }
+
+        private static String attachment(String fileName) {
+            return ContentDisposition.attachment().filename(fileName).build().toString();
+        }
+    }
+
+    private enum ColumnType { NUMBER, TEXT, TIMESTAMP }
+
+    private record Column(String name, ColumnType type) {
+    }
+
+    private interface RowWriter {
+        void header(List<Column> columns) throws IOException;
+
+        void row(ResultSet resultSet, List<Column> columns) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV. Text starting with a formula character is prefixed with a quote so spreadsheets show it as
+     * text instead of evaluating it.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header(List<Column> columns) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet resultSet, List<Column> columns) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = value(resultSet, i + 1, columns.get(i).type());
+                if (value != null) {
+                    writer.write(columns.get(i).type() == ColumnType.TEXT ? escape(value) : value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private static String escape(String value) {
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) {
+            // Lines are ended explicitly instead of Jackson's default space between root values
+            this.generator = jsonMapper.writer().withRootValueSeparator("").createGenerator(writer);
+        }
+
+        @Override
+        public void header(List<Column> columns) {
+        }
+
+        @Override
+        public void row(ResultSet resultSet, List<Column> columns) throws SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                generator.writeName(column.name());
+                if (column.type() == ColumnType.NUMBER) {
+                    long number = resultSet.getLong(i + 1);
+                    if (resultSet.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(number);
+                    }
+                } else {
+                    String value = value(resultSet, i + 1, column.type());
+                    if (value == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeString(value);
+                    }
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() {
+            // Not closed: that would also close the response stream, which the gzip wrapper still has to finish
+            generator.flush();
+        }
+    }
+
+    private static String value(ResultSet resultSet, int index, ColumnType type) throws SQLException {
+        return switch (type) {
+            case NUMBER -> {
+                long number = resultSet.getLong(index);
+                yield resultSet.wasNull() ? null : Long.toString(number);
+            }
+            case TEXT -> resultSet.getString(index);
+            case TIMESTAMP -> {
+                Timestamp timestamp = resultSet.getTimestamp(index);
+                yield timestamp == null ? null : timestamp.toLocalDateTime().toString();
+            }
+        };
+    }
+}
@@ -0,0 +1,363 @@
+package com.conference.management_system.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.dto.FeedbackRequest;
+import com.conference.management_system.dto.FeedbackResponse;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.FeedbackRepository;
+import com.conference.management_system.repository.RegistrationRepository;
+import com.conference.management_system.repository.SessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffered feedback submission for the burst of ratings that arrives when a session ends
+ * ({@code feedback.buffer.enabled}).
+ * <p>
+ * Submissions are validated in memory against per-session sets of registered users and of users who already gave
+ * feedback, loaded from the database on first use and refreshed after {@code feedback.buffer.max-age-ms}. Accepted
+ * feedback gets its id straight away and is queued; a single flusher thread writes everything that queued up
+ * while the previous batch was committing as one multi-row insert, plus one rating summary update per session.
+ * Callers are answered before the write, so feedback shows up in reads a moment later.
+ * <p>
+ * The unique (user_id, session_id) constraint catches duplicates the in-memory sets cannot see, such as feedback
+ * submitted on another node: a batch that hits it is retried row by row and the duplicates are dropped with a
+ * warning.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class FeedbackBuffer {
+
+    // Must match the allocationSize of Feedback's id generator: ids are taken from feedback_id_seq in the same
+    // blocks Hibernate's pooled optimizer uses, so buffered and directly saved feedback never collide
+    private static final int ID_BLOCK = 50;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final long POLL_MS = 200;
+
+    private final SessionRepository sessionRepository;
+    private final RegistrationRepository registrationRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final SessionRatingAggregates ratingAggregates;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${feedback.buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.buffer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${feedback.buffer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${feedback.buffer.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    private final Map<Long, SessionFeedback> sessions = new ConcurrentHashMap<>();
+
+    // Submissions queued or being written; merged into reloaded sessions so they still count as given
+    private final Set<PendingKey> pending = ConcurrentHashMap.newKeySet();
+
+    private BlockingQueue<PendingFeedback> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private long nextId;
+    private long lastId = -1;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "feedback-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Feedback buffer enabled: batchSize={}, queueCapacity={}", batchSize, queueCapacity);
+    }
+
+    /**
+     * Stop the flusher, then write whatever is still queued.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        // Not interrupted, so a batch being written is allowed to finish
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingFeedback> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Validate and queue feedback; it is written shortly after this returns.
+     * Must be called outside a transaction.
+     */
+    FeedbackResponse submit(FeedbackRequest request, Long userId, String username) {
+        Long sessionId = request.getSessionId();
+        SessionFeedback session = sessionFeedback(sessionId);
+
+        if (session.reviewers.contains(userId)) {
+            throw ApiException.conflict("You already gave feedback for this session");
+        }
+        if (!session.attendees.contains(userId)) {
+            // Registered since the session was loaded, or on another node
+            if (!registrationRepository.existsByUserIdAndSessionId(userId, sessionId)) {
+                throw ApiException.forbidden("You must be registered for this session to give feedback");
+            }
+            session.attendees.add(userId);
+        }
+        PendingKey key = new PendingKey(userId, sessionId);
+        pending.add(key);
+        if (!session.reviewers.add(userId)) {
+            // A concurrent submission of the same user got here first and owns the pending entry
+            throw ApiException.conflict("You already gave feedback for this session");
+        }
+
+        PendingFeedback feedback = new PendingFeedback(nextId(), userId, sessionId, request.getRating(),
+                request.getComment(), LocalDateTime.now());
+        if (!queue.offer(feedback)) {
+            forget(feedback);
+            log.warn("Feedback queue full ({} pending), rejecting feedback", queue.size());
+            throw ApiException.serviceUnavailable("Feedback service is busy. Please try again shortly.");
+        }
+
+        FeedbackResponse response = new FeedbackResponse();
+        response.setId(feedback.id());
+        response.setUserId(userId);
+        response.setUsername(username);
+        response.setSessionId(sessionId);
+        response.setSessionTitle(session.title);
+        response.setRating(feedback.rating());
+        response.setComment(feedback.comment());
+        response.setCreatedAt(feedback.createdAt());
+        return response;
+    }
+
+    /**
+     * Let the user give feedback for the session again once the deleting transaction commits.
+     */
+    void deleted(Long userId, Long sessionId) {
+        if (!enabled) {
+            return;
+        }
+        Runnable action = () -> {
+            SessionFeedback session = sessions.get(sessionId);
+            if (session != null) {
+                session.reviewers.remove(userId);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private SessionFeedback sessionFeedback(Long sessionId) {
+        SessionFeedback current = sessions.get(sessionId);
+        if (current != null && !current.isExpired(maxAgeMs)) {
+            return current;
+        }
+        Session session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> ApiException.notFound("Session not found"));
+        SessionFeedback loaded = new SessionFeedback(session.getTitle(),
+                registrationRepository.findUserIdsBySessionId(sessionId),
+                feedbackRepository.findUserIdsBySessionId(sessionId), System.nanoTime());
+        pending.stream()
+                .filter(key -> key.sessionId().equals(sessionId))
+                .forEach(key -> loaded.reviewers.add(key.userId()));
+        // Concurrent loads of one session are harmless; the last one wins
+        sessions.put(sessionId, loaded);
+        return loaded;
+    }
+
+    private synchronized long nextId() {
+        if (lastId < nextId) {
+            long high = jdbcTemplate.queryForObject("SELECT nextval('feedback_id_seq')", Long.class);
+            if (high < ID_BLOCK) {
+                // Hibernate treats the first value of a fresh sequence specially; skip it rather than share it
+                high = jdbcTemplate.queryForObject("SELECT nextval('feedback_id_seq')", Long.class);
+            }
+            nextId = high - ID_BLOCK + 1;
+            lastId = high;
+        }
+        return nextId++;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                PendingFeedback first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Everything that queued up while the previous batch was committing goes into this one
+                List<PendingFeedback> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Feedback flusher error", e);
+            }
+        }
+    }
+
+    private void flush(List<PendingFeedback> batch) {
+        try {
+            writeWithRetry(batch);
+            log.debug("Flushed {} feedback", batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // One duplicate or a deleted session fails the whole statement; keep the others
+            log.warn("Feedback batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingFeedback feedback : batch) {
+                try {
+                    writeWithRetry(List.of(feedback));
+                } catch (DataIntegrityViolationException single) {
+                    // Already given (e.g. on another node), or the session or user is gone; stays marked as given
+                    log.warn("Feedback dropped: userId={}, sessionId={}: {}",
+                            feedback.userId(), feedback.sessionId(), single.getMessage());
+                } catch (RuntimeException single) {
+                    forget(feedback);
+                    log.error("Feedback dropped: userId={}, sessionId={}",
+                            feedback.userId(), feedback.sessionId(), single);
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(this::forget);
+            log.error("Feedback batch of {} dropped: {}", batch.size(), batch.stream()
+                    .map(feedback -> feedback.userId() + "/" + feedback.sessionId()).toList(), e);
+        } finally {
+            batch.forEach(feedback -> pending.remove(new PendingKey(feedback.userId(), feedback.sessionId())));
+        }
+    }
+
+    /**
+     * Write in one transaction, retrying a few times on errors other than constraint violations, which
+     * would only fail again.
+     */
+    private void writeWithRetry(List<PendingFeedback> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Feedback batch write failed (attempt {}), retrying: {}", attempt, e.getMessage());
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void write(List<PendingFeedback> batch) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO feedback (id, user_id, session_id, rating, comment, created_at) VALUES ");
+        List<Object> args = new ArrayList<>(batch.size() * 6);
+        Map<Long, long[]> ratingsPerSession = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingFeedback feedback = batch.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+            args.add(feedback.id());
+            args.add(feedback.userId());
+            args.add(feedback.sessionId());
+            args.add(feedback.rating());
+            args.add(feedback.comment());
+            args.add(feedback.createdAt());
+            ratingsPerSession.computeIfAbsent(feedback.sessionId(),
+                    id -> new long[SessionRatingAggregates.MAX_RATING])[feedback.rating() - 1]++;
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+        ratingsPerSession.forEach(ratingAggregates::added);
+    }
+
+    private void forget(PendingFeedback feedback) {
+        pending.remove(new PendingKey(feedback.userId(), feedback.sessionId()));
+        SessionFeedback session = sessions.get(feedback.sessionId());
+        if (session != null) {
+            session.reviewers.remove(feedback.userId());
+        }
+    }
+
+    private static final class SessionFeedback {
+        private final String title;
+        // Anyone with a registration of any status may give feedback, as in the unbuffered path
+        private final Set<Long> attendees = ConcurrentHashMap.newKeySet();
+        private final Set<Long> reviewers = ConcurrentHashMap.newKeySet();
+        private final long loadedAtNanos;
+
+        private SessionFeedback(String title, List<Long> attendees, List<Long> reviewers, long loadedAtNanos) {
+            this.title = title;
+            this.attendees.addAll(attendees);
+            this.reviewers.addAll(reviewers);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        private boolean isExpired(long maxAgeMs) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        }
+    }
+
+    private record PendingKey(Long userId, Long sessionId) {
+    }
+
+    private record PendingFeedback(long id, Long userId, Long sessionId, int rating, String comment,
+            LocalDateTime createdAt) {
+    }
+}
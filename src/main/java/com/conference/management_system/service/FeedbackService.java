@@ -2,38 +2,64 @@ package com.conference.management_system.service;
 
 import com.conference.management_system.dto.FeedbackRequest;
 import com.conference.management_system.dto.FeedbackResponse;
+import com.conference.management_system.dto.PageResponse;
+import com.conference.management_system.dto.RatingSummaryResponse;
 import com.conference.management_system.entity.Feedback;
 import com.conference.management_system.entity.Registration;
 import com.conference.management_system.entity.Session;
-import com.conference.management_system.entity.User;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.FeedbackRepository;
 import com.conference.management_system.repository.RegistrationRepository;
 import com.conference.management_system.repository.SessionRepository;
-import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class FeedbackService {
     
+    private static final int[] SUMMARY_PERCENTILES = {25, 50, 75, 90};
+    
     private final FeedbackRepository feedbackRepository;
     private final SessionRepository sessionRepository;
     private final RegistrationRepository registrationRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUser;
+    private final KeysetPager pager;
+    private final SessionRatingAggregates ratingAggregates;
+    private final FeedbackBuffer feedbackBuffer;
+    
+    /**
+     * Whether {@link #submitFeedback} queues feedback instead of writing it before returning.
+     */
+    public boolean isBuffered() {
+        return feedbackBuffer.isEnabled();
+    }
+    
+    /**
+     * Validate feedback in memory and queue it for a batched write; see {@link FeedbackBuffer}.
+     * Only when {@link #isBuffered()}; otherwise use {@link #createFeedback}.
+     */
+    public FeedbackResponse submitFeedback(FeedbackRequest request) {
+        return feedbackBuffer.submit(request, currentUser.getId(), currentUser.getUsername());
+    }
     
     @Transactional
     public FeedbackResponse createFeedback(FeedbackRequest request) {
-        User currentUser = getCurrentUser();
-        
         // Check if user already gave feedback for this session
         Optional<Feedback> existing = feedbackRepository.findByUserIdAndSessionId(
                 currentUser.getId(), request.getSessionId());
@@ -54,31 +80,80 @@ public class FeedbackService {
         
         // Create feedback
         Feedback feedback = new Feedback();
-        feedback.setUser(currentUser);
+        feedback.setUser(currentUser.getReference());
         feedback.setSession(session);
         feedback.setRating(request.getRating());
         feedback.setComment(request.getComment());
         
-        Feedback saved = feedbackRepository.save(feedback);
-        return mapToResponse(saved);
+        Feedback saved;
+        try {
+            saved = feedbackRepository.saveAndFlush(feedback);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request of the same user won the unique (user_id, session_id) race
+            log.warn("Concurrent duplicate feedback: userId={}, sessionId={}", currentUser.getId(), session.getId());
+            throw ApiException.conflict("You already gave feedback for this session");
+        }
+        ratingAggregates.added(session.getId(), saved.getRating());
+        return mapToResponse(saved, currentUser.getUsername());
     }
     
     public List<FeedbackResponse> getSessionFeedback(Long sessionId) {
-        return feedbackRepository.findBySessionId(sessionId).stream()
+        List<Feedback> feedback = feedbackRepository.findBySessionIdOrderByCreatedAtAscIdAsc(sessionId,
+                Limit.of(pager.unpagedMaxRows()));
+        return pager.capped(feedback, "GET /api/feedback/session/" + sessionId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of a session's feedback, oldest first, optionally filtered by a rating range.
+     */
+    public PageResponse<FeedbackResponse> getSessionFeedbackPage(Long sessionId, String cursor, Integer limit,
+            Integer minRating, Integer maxRating) {
+        List<Specification<Feedback>> filters = new ArrayList<>();
+        filters.add(FeedbackRepository.withUserAndSession());
+        filters.add(FeedbackRepository.forSession(sessionId));
+        if (minRating != null) {
+            filters.add(FeedbackRepository.ratedAtLeast(minRating));
+        }
+        if (maxRating != null) {
+            filters.add(FeedbackRepository.ratedAtMost(maxRating));
+        }
+        int pageSize = pager.limit(limit);
+        Window<Feedback> window = feedbackRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(KeysetPager.sort("createdAt")).limit(pageSize)
+                        .scroll(pager.position(cursor, "createdAt")));
+        return pager.page(window, Feedback::getCreatedAt, Feedback::getId, this::mapToResponse);
+    }
+    
     public List<FeedbackResponse> getMyFeedback() {
-        User currentUser = getCurrentUser();
         return feedbackRepository.findByUserId(currentUser.getId()).stream()
-                .map(this::mapToResponse)
+                .map(feedback -> mapToResponse(feedback, currentUser.getUsername()))
                 .collect(Collectors.toList());
     }
     
     public Double getSessionAverageRating(Long sessionId) {
-        Double average = feedbackRepository.getAverageRatingBySessionId(sessionId);
-        return average != null ? average : 0.0;
+        return ratingAggregates.get(sessionId).average();
+    }
+    
+    /**
+     * Rating count, average, distribution and percentiles of a session, read from its running totals.
+     */
+    public RatingSummaryResponse getSessionRatingSummary(Long sessionId) {
+        if (!sessionRepository.existsById(sessionId)) {
+            throw ApiException.notFound("Session not found");
+        }
+        SessionRatingAggregates.Summary summary = ratingAggregates.get(sessionId);
+        long[] histogram = summary.histogram();
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = 1; rating <= histogram.length; rating++) {
+            distribution.put(rating, histogram[rating - 1]);
+        }
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int percent : SUMMARY_PERCENTILES) {
+            percentiles.put("p" + percent, summary.percentile(percent));
+        }
+        return new RatingSummaryResponse(sessionId, summary.count(), summary.average(), distribution, percentiles);
     }
     
     @Transactional
@@ -87,20 +162,20 @@ public class FeedbackService {
             .orElseThrow(() -> ApiException.notFound("Feedback not found"));
         
         feedbackRepository.delete(feedback);
+        ratingAggregates.removed(feedback.getSession().getId(), feedback.getRating());
+        feedbackBuffer.deleted(feedback.getUser().getId(), feedback.getSession().getId());
     }
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> ApiException.notFound("User not found"));
+    private FeedbackResponse mapToResponse(Feedback feedback) {
+        return mapToResponse(feedback, feedback.getUser().getUsername());
     }
     
-    private FeedbackResponse mapToResponse(Feedback feedback) {
+    // Username is passed in so write paths do not have to initialize the user proxy
+    private FeedbackResponse mapToResponse(Feedback feedback, String username) {
         FeedbackResponse response = new FeedbackResponse();
         response.setId(feedback.getId());
         response.setUserId(feedback.getUser().getId());
-        response.setUsername(feedback.getUser().getUsername());
+        response.setUsername(username);
         response.setSessionId(feedback.getSession().getId());
         response.setSessionTitle(feedback.getSession().getTitle());
         response.setRating(feedback.getRating());
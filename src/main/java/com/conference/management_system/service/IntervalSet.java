@@ -0,0 +1,90 @@
+package com.conference.management_system.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Immutable set of half-open time intervals [start, end) ordered by start, tagged with their session id.
+ * <p>
+ * Any interval overlapping [from, to) starts before {@code to} and no earlier than {@code from - longest},
+ * so an overlap query only scans that start range: O(log n + k) instead of every interval.
+ * Updates return a new set; readers never need a lock.
+ */
+final class IntervalSet {
+
+    private static final Comparator<Interval> ORDER = Comparator
+            .comparing(Interval::start)
+            .thenComparing(Interval::sessionId);
+
+    static final IntervalSet EMPTY = new IntervalSet(new TreeSet<>(ORDER), Duration.ZERO);
+
+    private final NavigableSet<Interval> intervals;
+    private final Duration longest;
+
+    private IntervalSet(NavigableSet<Interval> intervals, Duration longest) {
+        this.intervals = intervals;
+        this.longest = longest;
+    }
+
+    /**
+     * Build a set from intervals with distinct session ids in one pass.
+     */
+    static IntervalSet of(Collection<Interval> intervals) {
+        NavigableSet<Interval> sorted = new TreeSet<>(ORDER);
+        Duration longest = Duration.ZERO;
+        for (Interval interval : intervals) {
+            sorted.add(interval);
+            Duration length = Duration.between(interval.start(), interval.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+        return new IntervalSet(sorted, longest);
+    }
+
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return overlaps(from, to, null);
+    }
+
+    /**
+     * Overlap check that ignores the interval of {@code ignoredSessionId}, e.g. the session being rescheduled.
+     */
+    boolean overlaps(LocalDateTime from, LocalDateTime to, Long ignoredSessionId) {
+        Interval lower = new Interval(from.minus(longest), from.minus(longest), Long.MIN_VALUE);
+        Interval upper = new Interval(to, to, Long.MIN_VALUE);
+        for (Interval candidate : intervals.subSet(lower, true, upper, false)) {
+            if (candidate.end().isAfter(from) && !candidate.sessionId().equals(ignoredSessionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean contains(Long sessionId) {
+        return intervals.stream().anyMatch(interval -> interval.sessionId().equals(sessionId));
+    }
+
+    IntervalSet with(Interval interval) {
+        NavigableSet<Interval> copy = new TreeSet<>(ORDER);
+        copy.addAll(intervals);
+        copy.removeIf(existing -> existing.sessionId().equals(interval.sessionId()));
+        copy.add(interval);
+        Duration length = Duration.between(interval.start(), interval.end());
+        return new IntervalSet(copy, length.compareTo(longest) > 0 ? length : longest);
+    }
+
+    IntervalSet without(Long sessionId) {
+        NavigableSet<Interval> copy = new TreeSet<>(ORDER);
+        copy.addAll(intervals);
+        copy.removeIf(existing -> existing.sessionId().equals(sessionId));
+        // The longest duration is kept as an upper bound; it only widens the scanned range
+        return new IntervalSet(copy, longest);
+    }
+
+    record Interval(LocalDateTime start, LocalDateTime end, Long sessionId) {
+    }
+}
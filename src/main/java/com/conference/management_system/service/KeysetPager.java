@@ -0,0 +1,116 @@
+package com.conference.management_system.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import com.conference.management_system.dto.PageResponse;
+import com.conference.management_system.exception.ApiException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keyset pagination over a (timestamp, id) sort key shared by the paged list endpoints.
+ * <p>
+ * Pages are read with Spring Data scrolling, so each page is one indexed range query however deep the client
+ * goes. The cursor handed to clients is the sort key of the last row, base64url encoded; clients treat it as
+ * opaque. Unpaged list endpoints read through the same sort with a hard row cap.
+ */
+@Component
+@Slf4j
+class KeysetPager {
+
+    private static final String ID = "id";
+
+    @Value("${api.pagination.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${api.pagination.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${api.pagination.unpaged-max-rows:1000}")
+    private int unpagedMaxRows;
+
+    static Sort sort(String timeProperty) {
+        return Sort.by(Sort.Direction.ASC, timeProperty, ID);
+    }
+
+    int limit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw ApiException.badRequest("limit must be at least 1");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    int unpagedMaxRows() {
+        return unpagedMaxRows;
+    }
+
+    /**
+     * Scroll position just after the row the cursor was taken from, or the start for a null cursor.
+     */
+    ScrollPosition position(String cursor, String timeProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(timeProperty, LocalDateTime.parse(decoded.substring(0, separator)));
+            keys.put(ID, Long.parseLong(decoded.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw ApiException.badRequest("Invalid cursor");
+        }
+    }
+
+    <T, R> PageResponse<R> page(Window<T> window, Function<T, LocalDateTime> time, Function<T, Long> id,
+            Function<T, R> mapper) {
+        return pageOf(window, time, id, rows -> rows.stream().map(mapper).toList());
+    }
+
+    /**
+     * Like {@link #page}, for mappers that need the whole page at once (e.g. to batch lookups for it).
+     */
+    <T, R> PageResponse<R> pageOf(Window<T> window, Function<T, LocalDateTime> time, Function<T, Long> id,
+            Function<List<T>, List<R>> mapper) {
+        List<T> rows = window.getContent();
+        List<R> items = mapper.apply(rows);
+        if (!window.hasNext() || rows.isEmpty()) {
+            return new PageResponse<>(items, null, false);
+        }
+        T last = rows.get(rows.size() - 1);
+        return new PageResponse<>(items, encode(time.apply(last), id.apply(last)), true);
+    }
+
+    /**
+     * Result of an unpaged list endpoint cut to the row cap; logs when the cap was reached so oversized callers
+     * can be found.
+     */
+    <T> List<T> capped(List<T> rows, String endpoint) {
+        if (rows.size() >= unpagedMaxRows) {
+            log.warn("{} truncated at {} rows; use the paged endpoint", endpoint, unpagedMaxRows);
+        }
+        return rows.size() > unpagedMaxRows ? rows.subList(0, unpagedMaxRows) : rows;
+    }
+
+    private static String encode(LocalDateTime time, Long id) {
+        String raw = time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,20 @@
 package com.conference.management_system.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.ProposalRequest;
 import com.conference.management_system.dto.ProposalResponse;
 import com.conference.management_system.dto.ProposalReviewRequest;
@@ -16,7 +22,7 @@ import com.conference.management_system.entity.Proposal;
 import com.conference.management_system.entity.User;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.ProposalRepository;
-import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,75 +31,143 @@ import lombok.RequiredArgsConstructor;
 public class ProposalService {
     
     private final ProposalRepository proposalRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUser;
+    private final KeysetPager pager;
+    
+    @Value("${proposal.claim.lease-ms:900000}")
+    private long claimLeaseMs;
+    
+    @Value("${proposal.claim.max-batch:20}")
+    private int maxClaimBatch;
     
     @Transactional
     public ProposalResponse createProposal(ProposalRequest request) {
-        User currentUser = getCurrentUser();
-        
         Proposal proposal = new Proposal();
-        proposal.setUser(currentUser);
+        proposal.setUser(currentUser.getReference());
         proposal.setTitle(request.getTitle());
         proposal.setDescription(request.getDescription());
         proposal.setStatus(Proposal.ProposalStatus.PENDING);
         
         Proposal saved = proposalRepository.save(proposal);
-        return mapToResponse(saved);
+        return mapToResponse(saved, currentUser.getUsername(), null);
     }
     
     public List<ProposalResponse> getAllProposals() {
-        return proposalRepository.findAll().stream()
+        List<Proposal> proposals = proposalRepository.findAllByOrderBySubmittedAtAscIdAsc(
+                Limit.of(pager.unpagedMaxRows()));
+        return pager.capped(proposals, "GET /api/proposals").stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of proposals in submission order, optionally filtered by status and submitter.
+     */
+    public PageResponse<ProposalResponse> getProposalsPage(String cursor, Integer limit, String status, Long userId) {
+        List<Specification<Proposal>> filters = new ArrayList<>();
+        filters.add(ProposalRepository.withUsers());
+        if (status != null) {
+            filters.add(ProposalRepository.hasStatus(parseStatus(status)));
+        }
+        if (userId != null) {
+            filters.add(ProposalRepository.submittedBy(userId));
+        }
+        int pageSize = pager.limit(limit);
+        Window<Proposal> window = proposalRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(KeysetPager.sort("submittedAt")).limit(pageSize)
+                        .scroll(pager.position(cursor, "submittedAt")));
+        return pager.page(window, Proposal::getSubmittedAt, Proposal::getId, this::mapToResponse);
+    }
+    
     public List<ProposalResponse> getMyProposals() {
-        User currentUser = getCurrentUser();
         return proposalRepository.findByUserId(currentUser.getId()).stream()
-                .map(this::mapToResponse)
+                .map(proposal -> mapToResponse(proposal, currentUser.getUsername(), reviewerName(proposal)))
                 .collect(Collectors.toList());
     }
     
     public List<ProposalResponse> getProposalsByStatus(String status) {
-        Proposal.ProposalStatus proposalStatus;
-        try {
-            proposalStatus = Proposal.ProposalStatus.valueOf(status.toUpperCase());
-        } catch (IllegalArgumentException ex) {
-            throw ApiException.badRequest("Unknown proposal status: " + status);
+        List<Proposal> proposals = proposalRepository.findByStatusOrderBySubmittedAtAscIdAsc(parseStatus(status),
+                Limit.of(pager.unpagedMaxRows()));
+        return pager.capped(proposals, "GET /api/proposals/status").stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Claim up to {@code batch} of the oldest pending proposals for the current reviewer, for
+     * {@code proposal.claim.lease-ms}. Concurrent claims skip the rows another claim has locked, so reviewers get
+     * disjoint batches without waiting for each other. A claim that expires unreviewed goes back to the queue.
+     */
+    @Transactional
+    public List<ProposalResponse> claimProposals(Integer batch) {
+        int size = claimBatch(batch);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = proposalRepository.findClaimableForUpdate(Proposal.ProposalStatus.PENDING, now,
+                        PageRequest.of(0, size)).stream()
+                .map(Proposal::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        User reviewer = currentUser.getReference();
+        int claimed = proposalRepository.claim(ids, Proposal.ProposalStatus.PENDING, reviewer,
+                now.plus(Duration.ofMillis(claimLeaseMs)), now);
+        List<Proposal> proposals = proposalRepository.findByIdInOrderBySubmittedAtAscIdAsc(ids);
+        if (claimed < ids.size()) {
+            // Where the database does not skip locked rows, a concurrent claim can take some of them between the
+            // select and the update; return only the ones this reviewer holds
+            proposals = proposals.stream()
+                    .filter(proposal -> proposal.getClaimedBy() != null
+                            && proposal.getClaimedBy().getId().equals(currentUser.getId()))
+                    .toList();
         }
-        return proposalRepository.findByStatus(proposalStatus).stream()
+        return proposals.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Hand a claimed proposal back to the queue before its claim expires.
+     */
     @Transactional
-    public ProposalResponse reviewProposal(Long proposalId, ProposalReviewRequest request) {
-        Proposal proposal = proposalRepository.findById(proposalId)
-                .orElseThrow(() -> ApiException.notFound("Proposal not found"));
-        
-        if (proposal.getStatus() != Proposal.ProposalStatus.PENDING) {
-            throw ApiException.conflict("Proposal already reviewed");
+    public void releaseClaim(Long proposalId) {
+        if (proposalRepository.releaseClaim(proposalId, currentUser.getReference()) == 0) {
+            if (!proposalRepository.existsById(proposalId)) {
+                throw ApiException.notFound("Proposal not found");
+            }
+            throw ApiException.conflict("You do not hold a claim on this proposal");
         }
-        
-        User reviewer = getCurrentUser();
+    }
+    
+    /**
+     * Review a pending proposal as one compare-and-set update, so of two concurrent reviews exactly one applies.
+     * A proposal claimed by another reviewer can only be reviewed once that claim has expired.
+     */
+    @Transactional
+    public ProposalResponse reviewProposal(Long proposalId, ProposalReviewRequest request) {
         Proposal.ProposalStatus newStatus;
         try {
             newStatus = Proposal.ProposalStatus.valueOf(request.getStatus().toUpperCase());
         } catch (IllegalArgumentException ex) {
             throw ApiException.badRequest("Unknown review status: " + request.getStatus());
         }
+        String rejectionReason = newStatus == Proposal.ProposalStatus.REJECTED ? request.getRejectionReason() : null;
+        // Note: Session creation is now done separately by coordinators
         
-        proposal.setStatus(newStatus);
-        proposal.setReviewedBy(reviewer);
-        proposal.setReviewedAt(LocalDateTime.now());
-        
-        if (newStatus == Proposal.ProposalStatus.REJECTED) {
-            proposal.setRejectionReason(request.getRejectionReason());
+        int updated = proposalRepository.review(proposalId, Proposal.ProposalStatus.PENDING, newStatus,
+                currentUser.getReference(), rejectionReason, LocalDateTime.now());
+        if (updated == 0) {
+            Proposal proposal = proposalRepository.findById(proposalId)
+                    .orElseThrow(() -> ApiException.notFound("Proposal not found"));
+            if (proposal.getStatus() != Proposal.ProposalStatus.PENDING) {
+                throw ApiException.conflict("Proposal already reviewed");
+            }
+            throw ApiException.conflict("Proposal is claimed by another reviewer");
         }
-        // Note: Session creation is now done separately by coordinators
         
-        Proposal updated = proposalRepository.save(proposal);
-        return mapToResponse(updated);
+        Proposal reviewed = proposalRepository.findWithUsersById(proposalId)
+                .orElseThrow(() -> ApiException.notFound("Proposal not found"));
+        return mapToResponse(reviewed, reviewed.getUser().getUsername(), currentUser.getUsername());
     }
     
     @Transactional
@@ -101,7 +175,6 @@ public class ProposalService {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> ApiException.notFound("Proposal not found"));
         
-        User currentUser = getCurrentUser();
         if (!proposal.getUser().getId().equals(currentUser.getId())) {
             throw ApiException.forbidden("You can only delete your own proposals");
         }
@@ -113,28 +186,51 @@ public class ProposalService {
         proposalRepository.delete(proposal);
     }
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> ApiException.notFound("User not found"));
+    private static Proposal.ProposalStatus parseStatus(String status) {
+        try {
+            return Proposal.ProposalStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw ApiException.badRequest("Unknown proposal status: " + status);
+        }
+    }
+    
+    private int claimBatch(Integer requested) {
+        if (requested == null) {
+            return 1;
+        }
+        if (requested < 1) {
+            throw ApiException.badRequest("batch must be at least 1");
+        }
+        return Math.min(requested, maxClaimBatch);
+    }
+    
+    private String reviewerName(Proposal proposal) {
+        return proposal.getReviewedBy() != null ? proposal.getReviewedBy().getUsername() : null;
     }
     
     private ProposalResponse mapToResponse(Proposal proposal) {
+        return mapToResponse(proposal, proposal.getUser().getUsername(), reviewerName(proposal));
+    }
+    
+    // Usernames are passed in so write paths do not have to initialize the user proxies
+    private ProposalResponse mapToResponse(Proposal proposal, String submitterName, String reviewerName) {
         ProposalResponse response = new ProposalResponse();
         response.setId(proposal.getId());
         response.setUserId(proposal.getUser().getId());
-        response.setUsername(proposal.getUser().getUsername());
-        response.setSubmitterName(proposal.getUser().getUsername());  // Set submitterName for UI
+        response.setUsername(submitterName);
+        response.setSubmitterName(submitterName);  // Set submitterName for UI
         response.setTitle(proposal.getTitle());
         response.setDescription(proposal.getDescription());
         response.setStatus(proposal.getStatus());
         response.setSubmittedAt(proposal.getSubmittedAt());
         response.setReviewedAt(proposal.getReviewedAt());
-        if (proposal.getReviewedBy() != null) {
-            response.setReviewedBy(proposal.getReviewedBy().getUsername());
-        }
+        response.setReviewedBy(reviewerName);
         response.setRejectionReason(proposal.getRejectionReason());
+        // Expired claims are left in place until the next claim or review overwrites them
+        if (proposal.getClaimExpiresAt() != null && proposal.getClaimExpiresAt().isAfter(LocalDateTime.now())) {
+            response.setClaimedByUserId(proposal.getClaimedBy().getId());
+            response.setClaimExpiresAt(proposal.getClaimExpiresAt());
+        }
         return response;
     }
 }
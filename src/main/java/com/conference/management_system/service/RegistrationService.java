@@ -1,22 +1,36 @@
 package com.conference.management_system.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.conference.management_system.dto.BatchRegistrationResult;
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.RegistrationResponse;
 import com.conference.management_system.entity.Registration;
 import com.conference.management_system.entity.Session;
-import com.conference.management_system.entity.User;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.RegistrationRepository;
 import com.conference.management_system.repository.SessionRepository;
 import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,82 +40,274 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RegistrationService {
     
+    // Waitlist entries examined per promotion; entries whose user now has a clashing session are skipped
+    private static final int PROMOTION_CANDIDATES = 10;
+    
     private final RegistrationRepository registrationRepository;
     private final SessionRepository sessionRepository;
     private final UserRepository userRepository;
+    private final CurrentUserContext currentUser;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final UserScheduleIndex scheduleIndex;
+    private final SessionSeatCounter seatCounter;
+    private final KeysetPager pager;
     
-    @Transactional
     public RegistrationResponse registerForSession(Long sessionId) {
         log.info("Register for session attempt: sessionId={}", sessionId);
-        User currentUser = getCurrentUser();
         log.info("Current user: id={}, username={}", currentUser.getId(), currentUser.getUsername());
         
+        if (seatInventory.isEnabled()) {
+            return registerThroughInventory(sessionId);
+        }
+        return transactionTemplate.execute(status -> registerInDatabase(sessionId, false));
+    }
+    
+    /**
+     * Register the current user for several sessions in one request. Conflicts with the user's schedule and
+     * between the requested sessions are resolved in memory from one read of their registrations, then seats are
+     * claimed in ascending session id order so that concurrent batches lock seat stripes in the same order.
+     * Results are returned per session, in request order.
+     */
+    public List<BatchRegistrationResult> registerForSessions(List<Long> sessionIds) {
+        Long userId = currentUser.getId();
+        log.info("Batch registration attempt: userId={}, sessionIds={}", userId, sessionIds);
+        
+        if (!seatInventory.isEnabled()) {
+            return transactionTemplate.execute(status -> registerBatchInDatabase(sessionIds, userId));
+        }
+        
+        BatchPlan plan = transactionTemplate.execute(status -> planBatch(sessionIds, userId));
+        for (Session session : plan.accepted()) {
+            try {
+                plan.results().put(session.getId(), registered(registerThroughInventory(session.getId())));
+            } catch (ApiException e) {
+                plan.results().put(session.getId(), new BatchRegistrationResult(
+                        session.getId(), BatchRegistrationResult.Outcome.FAILED, e.getMessage(), null));
+            }
+        }
+        return new ArrayList<>(plan.results().values());
+    }
+    
+    private List<BatchRegistrationResult> registerBatchInDatabase(List<Long> sessionIds, Long userId) {
+        lockUser(userId);
+        BatchPlan plan = planBatch(sessionIds, userId);
+        
+        List<Registration> registrations = new ArrayList<>();
+        for (Session session : plan.accepted()) {
+            Registration registration = new Registration();
+            registration.setUser(currentUser.getReference());
+            registration.setSession(session);
+            registration.setStatus(seatCounter.tryClaim(session.getId())
+                    ? Registration.RegistrationStatus.CONFIRMED
+                    : Registration.RegistrationStatus.WAITLISTED);
+            registrations.add(registration);
+        }
+        
+        List<Registration> saved;
+        try {
+            saved = registrationRepository.saveAllAndFlush(registrations);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request of the same user registered one of these sessions; nothing is kept
+            log.warn("Concurrent duplicate registration in batch: userId={}", userId);
+            throw ApiException.conflict("Already registered for one of these sessions");
+        }
+        for (Registration registration : saved) {
+            if (registration.getStatus() == Registration.RegistrationStatus.CONFIRMED) {
+                scheduleIndex.registered(userId, registration.getSession());
+            }
+            plan.results().put(registration.getSession().getId(),
+                    registered(mapToResponse(registration, currentUser.getUsername())));
+        }
+        log.info("Batch registration completed: userId={}, registered={}, requested={}",
+                userId, saved.size(), plan.results().size());
+        return new ArrayList<>(plan.results().values());
+    }
+    
+    private BatchPlan planBatch(List<Long> sessionIds, Long userId) {
+        List<Long> requested = sessionIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, Session> sessions = sessionRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Session::getId, Function.identity()));
+        
+        List<Registration> existing = registrationRepository.findByUserIdWithSession(userId);
+        Set<Long> registeredSessionIds = new HashSet<>();
+        List<Session> busy = new ArrayList<>();
+        for (Registration registration : existing) {
+            registeredSessionIds.add(registration.getSession().getId());
+            if (registration.getStatus() == Registration.RegistrationStatus.CONFIRMED) {
+                busy.add(registration.getSession());
+            }
+        }
+        
+        // Insertion order keeps the results in request order; accepted sessions are filled in after claiming
+        Map<Long, BatchRegistrationResult> results = new LinkedHashMap<>();
+        List<Session> accepted = new ArrayList<>();
+        for (Long sessionId : requested) {
+            Session session = sessions.get(sessionId);
+            if (session == null) {
+                results.put(sessionId, new BatchRegistrationResult(
+                        sessionId, BatchRegistrationResult.Outcome.NOT_FOUND, "Session not found", null));
+            } else if (registeredSessionIds.contains(sessionId)) {
+                results.put(sessionId, new BatchRegistrationResult(sessionId,
+                        BatchRegistrationResult.Outcome.ALREADY_REGISTERED, "Already registered for this session", null));
+            } else if (busy.stream().anyMatch(other -> overlaps(session, other))) {
+                results.put(sessionId, new BatchRegistrationResult(sessionId,
+                        BatchRegistrationResult.Outcome.CONFLICT, "You have another session at this time", null));
+            } else {
+                results.put(sessionId, null);
+                accepted.add(session);
+                busy.add(session);
+            }
+        }
+        accepted.sort(Comparator.comparing(Session::getId));
+        return new BatchPlan(results, accepted);
+    }
+    
+    private static boolean overlaps(Session a, Session b) {
+        LocalDateTime aEnd = a.getSessionTime().plusMinutes(a.getDurationMinutes());
+        LocalDateTime bEnd = b.getSessionTime().plusMinutes(b.getDurationMinutes());
+        return a.getSessionTime().isBefore(bEnd) && b.getSessionTime().isBefore(aEnd);
+    }
+    
+    private static BatchRegistrationResult registered(RegistrationResponse response) {
+        BatchRegistrationResult.Outcome outcome = response.getStatus() == Registration.RegistrationStatus.WAITLISTED
+                ? BatchRegistrationResult.Outcome.WAITLISTED
+                : BatchRegistrationResult.Outcome.REGISTERED;
+        return new BatchRegistrationResult(response.getSessionId(), outcome, null, response);
+    }
+    
+    private RegistrationResponse registerThroughInventory(Long sessionId) {
+        // No transaction: admission is decided in memory and the write happens in the inventory's next batch
+        Registration saved = seatInventory.claim(sessionId, currentUser.getId());
+        if (saved == null) {
+            // Full in memory: queue up in the database waitlist instead
+            return transactionTemplate.execute(status -> registerInDatabase(sessionId, true));
+        }
+        log.info("Registration created: id={}, userId={}, sessionId={}", 
+                saved.getId(), currentUser.getId(), sessionId);
+        return mapToResponse(saved, currentUser.getUsername());
+    }
+    
+    private RegistrationResponse registerInDatabase(Long sessionId, boolean knownFull) {
+        lockUser(currentUser.getId());
+        
         // Check if already registered
         if (registrationRepository.existsByUserIdAndSessionId(currentUser.getId(), sessionId)) {
             log.warn("User already registered for session: userId={}, sessionId={}", currentUser.getId(), sessionId);
             throw ApiException.conflict("Already registered for this session");
         }
         
-        // Get session with PESSIMISTIC_WRITE lock to prevent race condition
-        // This ensures only one thread can modify participant count at a time
-        Session session = sessionRepository.findByIdWithLock(sessionId)
+        // Plain read, no lock: capacity is enforced by the atomic seat claim below
+        Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> {
                     log.error("Session not found: sessionId={}", sessionId);
                     return ApiException.notFound("Session not found");
                 });
-        log.info("Session found and locked: id={}, title={}, current={}/{}", 
-                session.getId(), session.getTitle(), 
-                session.getCurrentParticipants(), session.getMaxParticipants());
-        
-        // Check if session is full - this check is now atomic with the increment
-        if (session.getCurrentParticipants() >= session.getMaxParticipants()) {
-            log.warn("Session is full: sessionId={}", sessionId);
-            throw ApiException.badRequest("Session is full");
-        }
+        log.info("Session found: id={}, title={}", session.getId(), session.getTitle());
         
         // Check for time conflicts with user's other registrations
-        LocalDateTime sessionEnd = session.getSessionTime().plusMinutes(session.getDurationMinutes());
-        List<Registration> conflicts = registrationRepository.findUserRegistrationConflicts(
-                currentUser.getId(),
-                session.getSessionTime(),
-                sessionEnd
-        );
-        
-        if (!conflicts.isEmpty()) {
+        if (hasScheduleConflict(currentUser.getId(), session)) {
             log.warn("Time conflict detected: userId={}, sessionId={}", currentUser.getId(), sessionId);
             throw ApiException.conflict("You have another session at this time");
         }
         
+        // Claim a seat on one seat stripe with a conditional UPDATE; the row lock lasts only until this transaction commits.
+        // A full session puts the user on the waitlist instead of sending them away to retry.
+        Registration.RegistrationStatus status = Registration.RegistrationStatus.CONFIRMED;
+        if (knownFull || !seatCounter.tryClaim(sessionId)) {
+            log.info("Session is full, adding to waitlist: sessionId={}", sessionId);
+            status = Registration.RegistrationStatus.WAITLISTED;
+        }
+        
         // Create registration
         Registration registration = new Registration();
-        registration.setUser(currentUser);
+        registration.setUser(currentUser.getReference());
         registration.setSession(session);
-        registration.setStatus(Registration.RegistrationStatus.CONFIRMED);
-        
-        Registration saved = registrationRepository.save(registration);
-        log.info("Registration created: id={}, userId={}, sessionId={}", 
-                saved.getId(), currentUser.getId(), sessionId);
+        registration.setStatus(status);
         
-        // Increment participant count
-        session.setCurrentParticipants(session.getCurrentParticipants() + 1);
-        sessionRepository.save(session);
-        log.info("Session participants updated: sessionId={}, newCount={}", 
-                sessionId, session.getCurrentParticipants());
+        Registration saved;
+        try {
+            saved = registrationRepository.saveAndFlush(registration);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request of the same user won the unique (user_id, session_id) race; the seat claim rolls back
+            log.warn("Concurrent duplicate registration: userId={}, sessionId={}", currentUser.getId(), sessionId);
+            throw ApiException.conflict("Already registered for this session");
+        }
+        if (status == Registration.RegistrationStatus.CONFIRMED) {
+            scheduleIndex.registered(currentUser.getId(), session);
+        }
+        log.info("Registration created: id={}, userId={}, sessionId={}, status={}", 
+                saved.getId(), currentUser.getId(), sessionId, status);
         
-        return mapToResponse(saved);
+        return mapToResponse(saved, currentUser.getUsername());
     }
     
+    /**
+     * Take the user's row lock for the rest of the transaction. Without it two concurrent requests of the same
+     * user could both pass the schedule conflict check before either registration is written.
+     */
+    private void lockUser(Long userId) {
+        userRepository.lockById(userId).orElseThrow(() -> ApiException.notFound("User not found"));
+    }
+    
+    private boolean hasScheduleConflict(Long userId, Session session) {
+        LocalDateTime sessionEnd = session.getSessionTime().plusMinutes(session.getDurationMinutes());
+        return scheduleIndex.hasConflict(userId, session.getSessionTime(), sessionEnd);
+    }
+    
+    /**
+     * The current user's registrations. Waitlist positions, each in its own session, are counted in one query.
+     */
     public List<RegistrationResponse> getMyRegistrations() {
-        User currentUser = getCurrentUser();
-        return registrationRepository.findByUserId(currentUser.getId()).stream()
-                .map(this::mapToResponse)
+        List<Registration> registrations = registrationRepository.findByUserIdWithSession(currentUser.getId());
+        List<Long> waitlisted = registrations.stream()
+                .filter(r -> r.getStatus() == Registration.RegistrationStatus.WAITLISTED)
+                .map(Registration::getId)
+                .collect(Collectors.toList());
+        Map<Long, Long> positions = new HashMap<>();
+        if (!waitlisted.isEmpty()) {
+            for (Object[] row : registrationRepository.countWaitlistUpToByIds(waitlisted,
+                    Registration.RegistrationStatus.WAITLISTED)) {
+                positions.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return registrations.stream()
+                .map(registration -> {
+                    RegistrationResponse response = toResponse(registration, currentUser.getUsername());
+                    response.setWaitlistPosition(positions.get(registration.getId()));
+                    return response;
+                })
                 .collect(Collectors.toList());
     }
     
     public List<RegistrationResponse> getSessionRegistrations(Long sessionId) {
-        return registrationRepository.findBySessionId(sessionId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<Registration> registrations = registrationRepository.findBySessionIdOrderByRegisteredAtAscIdAsc(
+                sessionId, Limit.of(pager.unpagedMaxRows()));
+        return mapSessionRegistrations(pager.capped(registrations, "GET /api/registrations/session/" + sessionId));
+    }
+    
+    /**
+     * One page of a session's registrations in registration order, optionally filtered by status.
+     */
+    public PageResponse<RegistrationResponse> getSessionRegistrationsPage(Long sessionId, String cursor,
+            Integer limit, String status) {
+        List<Specification<Registration>> filters = new ArrayList<>();
+        filters.add(RegistrationRepository.withUserAndSession());
+        filters.add(RegistrationRepository.forSession(sessionId));
+        if (status != null) {
+            try {
+                filters.add(RegistrationRepository.hasStatus(
+                        Registration.RegistrationStatus.valueOf(status.toUpperCase())));
+            } catch (IllegalArgumentException ex) {
+                throw ApiException.badRequest("Unknown registration status: " + status);
+            }
+        }
+        int pageSize = pager.limit(limit);
+        Window<Registration> window = registrationRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(KeysetPager.sort("registeredAt")).limit(pageSize)
+                        .scroll(pager.position(cursor, "registeredAt")));
+        return pager.pageOf(window, Registration::getRegisteredAt, Registration::getId,
+                this::mapSessionRegistrations);
     }
     
     @Transactional
@@ -109,41 +315,87 @@ public class RegistrationService {
         Registration registration = registrationRepository.findById(registrationId)
             .orElseThrow(() -> ApiException.notFound("Registration not found"));
         
-        User currentUser = getCurrentUser();
         if (!registration.getUser().getId().equals(currentUser.getId())) {
             throw ApiException.forbidden("You can only cancel your own registrations");
         }
         
-        if (registration.getStatus() == Registration.RegistrationStatus.CANCELLED) {
+        // Update status only if nobody changed it in the meantime
+        Registration.RegistrationStatus previous = registration.getStatus();
+        if (previous == Registration.RegistrationStatus.CANCELLED
+                || registrationRepository.updateStatus(
+                        registrationId, previous, Registration.RegistrationStatus.CANCELLED) == 0) {
             throw ApiException.conflict("Registration already cancelled");
         }
+        if (previous == Registration.RegistrationStatus.WAITLISTED) {
+            log.info("Left waitlist: registrationId={}", registrationId);
+            return;
+        }
+        Long sessionId = registration.getSession().getId();
+        scheduleIndex.cancelled(currentUser.getId(), sessionId);
         
-        // Update status
-        registration.setStatus(Registration.RegistrationStatus.CANCELLED);
-        registrationRepository.save(registration);
-        
-        // Decrement participant count
-        Session session = registration.getSession();
-        session.setCurrentParticipants(Math.max(0, session.getCurrentParticipants() - 1));
-        sessionRepository.save(session);
+        // Hand the seat straight to the head of the waitlist; only if nobody is waiting is it released
+        if (!promoteFromWaitlist(sessionId)) {
+            // Matching atomic decrement on one seat stripe; the session row is never loaded
+            seatCounter.release(sessionId);
+        }
     }
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        log.debug("getCurrentUser: username={}, principal={}", username, authentication.getPrincipal());
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    log.error("User not found in database: username={}", username);
-                    return ApiException.notFound("User not found");
-                });
+    /**
+     * Confirm the first waitlisted user without a clashing session. The seat moves from the cancelled
+     * registration to the promoted one, so the participant count does not change.
+     */
+    private boolean promoteFromWaitlist(Long sessionId) {
+        List<Registration> candidates = registrationRepository.findWaitlistForUpdate(
+                sessionId, Registration.RegistrationStatus.WAITLISTED, PageRequest.of(0, PROMOTION_CANDIDATES));
+        for (Registration candidate : candidates) {
+            if (!hasScheduleConflict(candidate.getUser().getId(), candidate.getSession())) {
+                candidate.setStatus(Registration.RegistrationStatus.CONFIRMED);
+                scheduleIndex.registered(candidate.getUser().getId(), candidate.getSession());
+                log.info("Promoted from waitlist: registrationId={}, userId={}, sessionId={}",
+                        candidate.getId(), candidate.getUser().getId(), sessionId);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Map one session's registrations, given in waitlist order (registered at, id). Waitlist positions are counted
+     * along the list after a single count for the first waitlisted row, instead of one count per row.
+     */
+    private List<RegistrationResponse> mapSessionRegistrations(List<Registration> registrations) {
+        List<RegistrationResponse> responses = new ArrayList<>(registrations.size());
+        Long position = null;
+        for (Registration registration : registrations) {
+            RegistrationResponse response = toResponse(registration, registration.getUser().getUsername());
+            if (registration.getStatus() == Registration.RegistrationStatus.WAITLISTED) {
+                position = position == null ? waitlistPosition(registration) : position + 1;
+                response.setWaitlistPosition(position);
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+    
+    // Username is passed in so write paths do not have to initialize the user proxy
+    private RegistrationResponse mapToResponse(Registration registration, String username) {
+        RegistrationResponse response = toResponse(registration, username);
+        if (registration.getStatus() == Registration.RegistrationStatus.WAITLISTED) {
+            response.setWaitlistPosition(waitlistPosition(registration));
+        }
+        return response;
     }
     
-    private RegistrationResponse mapToResponse(Registration registration) {
+    private long waitlistPosition(Registration registration) {
+        return registrationRepository.countWaitlistUpTo(registration.getSession().getId(),
+                Registration.RegistrationStatus.WAITLISTED, registration.getRegisteredAt(), registration.getId());
+    }
+    
+    private static RegistrationResponse toResponse(Registration registration, String username) {
         RegistrationResponse response = new RegistrationResponse();
         response.setId(registration.getId());
         response.setUserId(registration.getUser().getId());
-        response.setUsername(registration.getUser().getUsername());
+        response.setUsername(username);
         response.setSessionId(registration.getSession().getId());
         response.setSessionTitle(registration.getSession().getTitle());
         response.setSessionTime(registration.getSession().getSessionTime());
@@ -151,4 +403,8 @@ public class RegistrationService {
         response.setRegisteredAt(registration.getRegisteredAt());
         return response;
     }
+    
+    // Per-session results so far (null for accepted sessions) and the accepted sessions in lock order
+    private record BatchPlan(Map<Long, BatchRegistrationResult> results, List<Session> accepted) {
+    }
 }
@@ -0,0 +1,198 @@
+package com.conference.management_system.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.repository.SessionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory calendars of the scheduled sessions per room and per speaker, used for scheduling conflict checks.
+ * <p>
+ * Only sessions that have not ended are indexed, since new and rescheduled sessions must start in the future.
+ * Readers use an immutable snapshot without locking; changes made on this node are applied once their
+ * transaction commits, and a periodic reload picks up changes made on other nodes. The index is a fast path
+ * only: the database exclusion constraints on sessions remain the authority when two nodes race.
+ * With {@code session.calendar.enabled=false} every check queries the database instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class RoomCalendarIndex {
+
+    private final SessionRepository sessionRepository;
+
+    @Value("${session.calendar.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Calendars calendars;
+
+    // Bumped on every change; a reload is only installed if nothing changed while it read the database
+    private volatile long modifications;
+
+    boolean roomBusy(String room, LocalDateTime start, LocalDateTime end, Long ignoredSessionId) {
+        if (!enabled) {
+            return sessionRepository.existsRoomConflict(room, start, end, ignoredSessionId);
+        }
+        return calendars().rooms().getOrDefault(room, IntervalSet.EMPTY).overlaps(start, end, ignoredSessionId);
+    }
+
+    boolean speakerBusy(Long speakerId, LocalDateTime start, LocalDateTime end, Long ignoredSessionId) {
+        if (!enabled) {
+            return sessionRepository.existsSpeakerConflict(speakerId, start, end, ignoredSessionId);
+        }
+        return calendars().speakers().getOrDefault(speakerId, IntervalSet.EMPTY)
+                .overlaps(start, end, ignoredSessionId);
+    }
+
+    /**
+     * Record a created or rescheduled session once the transaction commits.
+     */
+    void scheduled(Session session) {
+        Slot slot = slotOf(session);
+        afterCommit(() -> modify(current -> current.without(slot.sessionId()).with(slot)));
+    }
+
+    void removed(Long sessionId) {
+        afterCommit(() -> modify(current -> current.without(sessionId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void preload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${session.calendar.refresh-interval-ms:60000}",
+            initialDelayString = "${session.calendar.refresh-interval-ms:60000}")
+    void reload() {
+        if (!enabled) {
+            return;
+        }
+        long modificationsBefore = modifications;
+        Calendars loaded = load();
+        writeLock.lock();
+        try {
+            if (modifications == modificationsBefore) {
+                calendars = loaded;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Room calendar reloaded: {} rooms, {} speakers", loaded.rooms().size(), loaded.speakers().size());
+    }
+
+    private Calendars calendars() {
+        Calendars current = calendars;
+        if (current == null) {
+            reload();
+            current = calendars;
+            if (current == null) {
+                // A change raced the first load; answer from a fresh read without caching it
+                current = load();
+            }
+        }
+        return current;
+    }
+
+    private Calendars load() {
+        List<Slot> slots = sessionRepository.findActiveCalendar(LocalDateTime.now()).stream()
+                .map(RoomCalendarIndex::slotOf)
+                .toList();
+        Map<String, IntervalSet> rooms = new HashMap<>();
+        slots.stream()
+                .collect(Collectors.groupingBy(Slot::room, Collectors.mapping(Slot::interval, Collectors.toList())))
+                .forEach((room, intervals) -> rooms.put(room, IntervalSet.of(intervals)));
+        Map<Long, IntervalSet> speakers = new HashMap<>();
+        slots.stream()
+                .collect(Collectors.groupingBy(Slot::speakerId, Collectors.mapping(Slot::interval, Collectors.toList())))
+                .forEach((speaker, intervals) -> speakers.put(speaker, IntervalSet.of(intervals)));
+        return new Calendars(rooms, speakers, slots.stream().collect(Collectors.toMap(Slot::sessionId, slot -> slot)));
+    }
+
+    private void modify(UnaryOperator<Calendars> change) {
+        writeLock.lock();
+        try {
+            modifications++;
+            if (calendars != null) {
+                calendars = change.apply(calendars);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Slot slotOf(Session session) {
+        return new Slot(session.getId(), session.getRoom(), session.getSpeaker().getId(),
+                new IntervalSet.Interval(session.getSessionTime(),
+                        session.getSessionTime().plusMinutes(session.getDurationMinutes()), session.getId()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Slot(Long sessionId, String room, Long speakerId, IntervalSet.Interval interval) {
+    }
+
+    /**
+     * Immutable snapshot; the maps are small (one entry per room and speaker) and copied on change.
+     */
+    private record Calendars(Map<String, IntervalSet> rooms, Map<Long, IntervalSet> speakers,
+            Map<Long, Slot> slots) {
+
+        Calendars with(Slot slot) {
+            Map<String, IntervalSet> newRooms = new HashMap<>(rooms);
+            newRooms.merge(slot.room(), IntervalSet.EMPTY.with(slot.interval()),
+                    (existing, ignored) -> existing.with(slot.interval()));
+            Map<Long, IntervalSet> newSpeakers = new HashMap<>(speakers);
+            newSpeakers.merge(slot.speakerId(), IntervalSet.EMPTY.with(slot.interval()),
+                    (existing, ignored) -> existing.with(slot.interval()));
+            Map<Long, Slot> newSlots = new HashMap<>(slots);
+            newSlots.put(slot.sessionId(), slot);
+            return new Calendars(newRooms, newSpeakers, newSlots);
+        }
+
+        Calendars without(Long sessionId) {
+            Slot slot = slots.get(sessionId);
+            if (slot == null) {
+                return this;
+            }
+            Map<String, IntervalSet> newRooms = new HashMap<>(rooms);
+            newRooms.computeIfPresent(slot.room(), (room, calendar) -> calendar.without(sessionId));
+            Map<Long, IntervalSet> newSpeakers = new HashMap<>(speakers);
+            newSpeakers.computeIfPresent(slot.speakerId(), (speaker, calendar) -> calendar.without(sessionId));
+            Map<Long, Slot> newSlots = new HashMap<>(slots);
+            newSlots.remove(sessionId);
+            return new Calendars(newRooms, newSpeakers, newSlots);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.conference.management_system.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.RegistrationRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-process seat inventory for flash registration openings ({@code registration.inventory.enabled}).
+ * <p>
+ * Admission is decided in memory with a lock-free seat counter and a per-session set of registered users, so
+ * duplicate requests are rejected and full sessions detected (the caller then waitlists the user) without
+ * touching the database. Admitted claims are queued and written by a single flusher thread in batched
+ * transactions (schedule conflict check, registration inserts and one participant-count update per session). Each caller waits for the batch holding its claim to commit, so a
+ * registration is never acknowledged before it is durable, but request threads neither hold a connection nor
+ * wait on seat stripe row locks.
+ * <p>
+ * Sessions are loaded from the database on first use (upcoming ones at startup) and reconciled periodically,
+ * which also picks up cancellations and capacity changes. The inventory assumes this node is the only one
+ * admitting registrations while it is enabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventory {
+
+    private final SessionRepository sessionRepository;
+    private final RegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserScheduleIndex scheduleIndex;
+    private final SessionSeatCounter seatCounter;
+
+    @Value("${registration.inventory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${registration.inventory.batch-size:200}")
+    private int batchSize;
+
+    @Value("${registration.inventory.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${registration.inventory.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${registration.inventory.reconcile-interval-ms:30000}")
+    private long reconcileIntervalMs;
+
+    private final Map<Long, SessionSeats> seats = new ConcurrentHashMap<>();
+    private BlockingQueue<PendingClaim> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "seat-inventory-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Seat inventory enabled: batchSize={}, queueCapacity={}", batchSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void preload() {
+        if (!enabled) {
+            return;
+        }
+        sessionRepository.findUpcomingSessions(LocalDateTime.now(), Limit.unlimited()).forEach(this::seatsFor);
+        log.info("Seat inventory loaded for {} upcoming sessions", seats.size());
+    }
+
+    /**
+     * Admit the user to the session and wait until the registration has been written.
+     * Must be called outside a transaction so the caller does not hold a connection while it waits.
+     *
+     * @return the confirmed registration, or null if the session is full
+     */
+    public Registration claim(Long sessionId, Long userId) {
+        SessionSeats sessionSeats = seats.get(sessionId);
+        if (sessionSeats == null) {
+            Session session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> ApiException.notFound("Session not found"));
+            sessionSeats = seatsFor(session);
+        }
+        // Pending goes up before and down after every change to the counters; see reconcile()
+        sessionSeats.pending.incrementAndGet();
+        sessionSeats.epoch.incrementAndGet();
+
+        if (!sessionSeats.userIds.add(userId)) {
+            sessionSeats.pending.decrementAndGet();
+            throw ApiException.conflict("Already registered for this session");
+        }
+        if (!sessionSeats.tryTakeSeat()) {
+            sessionSeats.userIds.remove(userId);
+            sessionSeats.pending.decrementAndGet();
+            return null;
+        }
+
+        PendingClaim claim = new PendingClaim(sessionSeats, userId, new CompletableFuture<>());
+        if (!queue.offer(claim)) {
+            release(claim);
+            log.warn("Seat inventory queue full ({} pending), rejecting registration", queue.size());
+            throw ApiException.serviceUnavailable("Registration service is busy. Please try again shortly.");
+        }
+
+        try {
+            return claim.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The claim stays queued and will still be written; the user can check their registrations
+            log.warn("Registration flush timed out after {} ms: userId={}, sessionId={}",
+                    timeoutMs, userId, sessionId);
+            throw ApiException.serviceUnavailable("Registration is still being processed. Please check your registrations shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ApiException.serviceUnavailable("Registration service is busy. Please try again shortly.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            log.error("Registration flush failed: userId={}, sessionId={}", userId, sessionId, e.getCause());
+            throw ApiException.internalServerError("Registration failed. Please try again.");
+        }
+    }
+
+    private SessionSeats seatsFor(Session session) {
+        return seats.computeIfAbsent(session.getId(), id -> new SessionSeats(session,
+                session.getMaxParticipants() - seatCounter.countNow(id),
+                registrationRepository.findUserIdsBySessionId(id)));
+    }
+
+    private void flushLoop() {
+        long nextReconcile = System.currentTimeMillis() + reconcileIntervalMs;
+        while (running) {
+            try {
+                PendingClaim first = queue.poll(Math.max(1, nextReconcile - System.currentTimeMillis()),
+                        TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    // Everything that queued up while the previous batch was committing goes into this one
+                    List<PendingClaim> batch = new ArrayList<>();
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    flush(batch);
+                }
+                if (System.currentTimeMillis() >= nextReconcile) {
+                    reconcile();
+                    nextReconcile = System.currentTimeMillis() + reconcileIntervalMs;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Seat inventory flusher error", e);
+            }
+        }
+    }
+
+    private void flush(List<PendingClaim> claims) {
+        List<PendingClaim> batch = new ArrayList<>(claims.size());
+        // The schedule index only sees this batch's registrations after commit, so claims accepted so far are
+        // checked here as well
+        Map<Long, IntervalSet> accepted = new HashMap<>();
+        for (PendingClaim claim : claims) {
+            IntervalSet acceptedForUser = accepted.getOrDefault(claim.userId, IntervalSet.EMPTY);
+            try {
+                if (hasScheduleConflict(claim, acceptedForUser)) {
+                    release(claim);
+                    claim.result.completeExceptionally(ApiException.conflict("You have another session at this time"));
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                release(claim);
+                claim.result.completeExceptionally(e);
+                continue;
+            }
+            accepted.put(claim.userId, acceptedForUser.with(UserScheduleIndex.intervalOf(claim.seats.session)));
+            batch.add(claim);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Registration> saved = transactionTemplate.execute(status -> write(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).seats.pending.decrementAndGet();
+                batch.get(i).result.complete(saved.get(i));
+            }
+            log.debug("Flushed {} registrations", batch.size());
+        } catch (RuntimeException e) {
+            // One bad claim (e.g. a session deleted meanwhile) must not fail the others
+            log.warn("Registration batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingClaim claim : batch) {
+                try {
+                    Registration registration = transactionTemplate.execute(status -> write(List.of(claim)).get(0));
+                    claim.seats.pending.decrementAndGet();
+                    claim.result.complete(registration);
+                } catch (RuntimeException single) {
+                    release(claim);
+                    log.warn("Registration failed: userId={}, sessionId={}: {}",
+                            claim.userId, claim.seats.session.getId(), single.getMessage());
+                    claim.result.completeExceptionally(ApiException.conflict("Registration could not be completed"));
+                }
+            }
+        }
+    }
+
+    private boolean hasScheduleConflict(PendingClaim claim, IntervalSet acceptedInBatch) {
+        IntervalSet.Interval interval = UserScheduleIndex.intervalOf(claim.seats.session);
+        return acceptedInBatch.overlaps(interval.start(), interval.end())
+                || scheduleIndex.hasConflict(claim.userId, interval.start(), interval.end());
+    }
+
+    private List<Registration> write(List<PendingClaim> batch) {
+        List<Registration> registrations = new ArrayList<>(batch.size());
+        Map<Long, Integer> claimedPerSession = new HashMap<>();
+        for (PendingClaim claim : batch) {
+            Registration registration = new Registration();
+            registration.setUser(userRepository.getReferenceById(claim.userId));
+            registration.setSession(claim.seats.session);
+            registration.setStatus(Registration.RegistrationStatus.CONFIRMED);
+            registrations.add(registration);
+            scheduleIndex.registered(claim.userId, claim.seats.session);
+            claimedPerSession.merge(claim.seats.session.getId(), 1, Integer::sum);
+        }
+        List<Registration> saved = registrationRepository.saveAll(registrations);
+        claimedPerSession.forEach(seatCounter::add);
+        return saved;
+    }
+
+    private void release(PendingClaim claim) {
+        claim.seats.available.incrementAndGet();
+        claim.seats.userIds.remove(claim.userId);
+        claim.seats.pending.decrementAndGet();
+    }
+
+    /**
+     * Bring the in-memory counters back in line with the database. Runs on the flusher thread, so no batch is
+     * in flight; a session is only adjusted when no admission overlapped the read (pending was zero and the
+     * epoch did not move), and the adjustment is applied as a delta so it composes with concurrent claims.
+     */
+    private void reconcile() {
+        if (seats.isEmpty()) {
+            return;
+        }
+        Map<Long, Session> current = new HashMap<>();
+        sessionRepository.findAllById(seats.keySet()).forEach(session -> current.put(session.getId(), session));
+        Map<Long, Integer> participants = seatCounter.countsNow(current.keySet());
+
+        int adjusted = 0;
+        for (Map.Entry<Long, SessionSeats> entry : seats.entrySet()) {
+            Session session = current.get(entry.getKey());
+            if (session == null) {
+                seats.remove(entry.getKey());
+                continue;
+            }
+            SessionSeats sessionSeats = entry.getValue();
+            sessionSeats.session = session;
+            int expected = session.getMaxParticipants() - participants.getOrDefault(entry.getKey(), 0);
+            long epochBefore = sessionSeats.epoch.get();
+            if (sessionSeats.pending.get() != 0) {
+                continue;
+            }
+            int available = sessionSeats.available.get();
+            if (sessionSeats.epoch.get() != epochBefore || available == expected) {
+                continue;
+            }
+            sessionSeats.available.addAndGet(expected - available);
+            sessionSeats.userIds.addAll(registrationRepository.findUserIdsBySessionId(entry.getKey()));
+            adjusted++;
+            log.info("Reconciled seat inventory: sessionId={}, available {} -> {}", entry.getKey(), available, expected);
+        }
+        log.debug("Seat inventory reconciled: {} sessions, {} adjusted", seats.size(), adjusted);
+    }
+
+    private static final class SessionSeats {
+        // Refreshed by reconcile() so time and capacity edits reach the conflict check
+        private volatile Session session;
+        private final AtomicInteger available;
+        private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+        // Claims admitted but not yet written, and a counter bumped by every admission attempt
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong epoch = new AtomicLong();
+
+        private SessionSeats(Session session, int available, List<Long> registeredUserIds) {
+            this.session = session;
+            this.available = new AtomicInteger(available);
+            this.userIds.addAll(registeredUserIds);
+        }
+
+        private boolean tryTakeSeat() {
+            int current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+
+    private record PendingClaim(SessionSeats seats, Long userId, CompletableFuture<Registration> result) {
+    }
+}
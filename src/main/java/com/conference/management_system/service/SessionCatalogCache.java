@@ -0,0 +1,285 @@
+package com.conference.management_system.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.conference.management_system.dto.SessionResponse;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.repository.SessionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process snapshot of the session catalog behind {@code GET /api/sessions} and {@code /api/sessions/upcoming}.
+ * <p>
+ * The snapshot holds one {@link SessionResponse} per session without its participant count, built with a single
+ * fetch-join query. Creates, updates and deletes on this node patch it once their transaction commits; it is
+ * rebuilt when older than {@code session.catalog.max-age-ms}, which bounds how long changes made on other nodes
+ * take to show. Participant counts change with every registration, so they are not part of the snapshot but
+ * overlaid on each read from the cached seat counter totals. While one request rebuilds an expired snapshot,
+ * the others keep serving the previous one.
+ * <p>
+ * Each installed snapshot gets a new generation number. Together with the seat counter's change count it forms
+ * the weak ETag of the list endpoints, so polling clients get a 304 without the list being built. Since every
+ * rebuild is a new generation, changes made on other nodes reach polling clients within the same max age.
+ * Generations and change counts are local to one running node, so the tag also carries an id drawn at startup:
+ * a validator issued by another node or before a restart never matches and never yields a false 304.
+ * <p>
+ * Metrics: {@code session.catalog.requests} (tagged hit/miss), {@code session.catalog.rebuild} and
+ * {@code session.catalog.size}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class SessionCatalogCache {
+
+    private final SessionRepository sessionRepository;
+    private final SessionSeatCounter seatCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${session.catalog.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    // Held while rebuilding and patching, so a patch is never lost to a rebuild that read older data
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    // Bumped after each new snapshot is installed, so a validator is never newer than the data read after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private Counter hits;
+    private Counter misses;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    void init() {
+        hits = Counter.builder("session.catalog.requests").tag("result", "hit")
+                .description("Session catalog reads served from the snapshot").register(meterRegistry);
+        misses = Counter.builder("session.catalog.requests").tag("result", "miss")
+                .description("Session catalog reads that rebuilt the snapshot").register(meterRegistry);
+        rebuildTimer = Timer.builder("session.catalog.rebuild")
+                .description("Time to rebuild the session catalog snapshot").register(meterRegistry);
+        Gauge.builder("session.catalog.size", this, cache -> cache.snapshot == null ? 0 : cache.snapshot.byId().size())
+                .description("Sessions in the catalog snapshot").register(meterRegistry);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    List<SessionResponse> all() {
+        return withParticipants(snapshot().byId().values());
+    }
+
+    List<SessionResponse> upcoming(LocalDateTime now) {
+        return withParticipants(snapshot().byTime().stream()
+                .filter(session -> !session.getSessionTime().isBefore(now))
+                .filter(session -> session.getStatus() == Session.SessionStatus.SCHEDULED)
+                .toList());
+    }
+
+    /**
+     * Weak validator for {@link #all()}; read it before the list.
+     */
+    String allTag() {
+        snapshot();
+        return "W/\"" + instanceId + "-" + generation.get() + "-" + seatCounter.changes() + "\"";
+    }
+
+    /**
+     * Weak validator for {@link #upcoming}; also changes whenever a session starts and leaves the list.
+     */
+    String upcomingTag(LocalDateTime now) {
+        int started = snapshot().startedBefore(now);
+        return "W/\"" + instanceId + "-" + generation.get() + "-" + seatCounter.changes() + "-" + started + "\"";
+    }
+
+    Optional<Long> version(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id)).map(SessionResponse::getVersion);
+    }
+
+    /**
+     * Look up one session; empty if it is not in the snapshot (e.g. created on another node since the last rebuild).
+     */
+    Optional<SessionResponse> find(Long id) {
+        SessionResponse session = snapshot().byId().get(id);
+        if (session == null) {
+            return Optional.empty();
+        }
+        return Optional.of(withParticipants(session, seatCounter.count(id)));
+    }
+
+    /**
+     * Add or replace a session once the transaction commits. Must be called inside the transaction that saved it.
+     */
+    void put(Session session) {
+        SessionResponse response = SessionService.toResponse(session, null);
+        afterCommit(() -> patch(current -> current.with(response)));
+    }
+
+    void remove(Long id) {
+        afterCommit(() -> patch(current -> current.without(id)));
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(maxAgeMs)) {
+            hits.increment();
+            return current;
+        }
+        if (current != null && !lock.tryLock()) {
+            // Another request is rebuilding; the previous snapshot is still good enough for this one
+            hits.increment();
+            return current;
+        }
+        if (current == null) {
+            lock.lock();
+        }
+        try {
+            Snapshot latest = snapshot;
+            if (latest != null && latest != current && !latest.isExpired(maxAgeMs)) {
+                hits.increment();
+                return latest;
+            }
+            misses.increment();
+            latest = rebuildTimer.record(this::load);
+            snapshot = latest;
+            generation.incrementAndGet();
+            return latest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<Session> sessions = sessionRepository.findAllForCatalog();
+        NavigableMap<Long, SessionResponse> byId = new TreeMap<>();
+        for (Session session : sessions) {
+            byId.put(session.getId(), SessionService.toResponse(session, null));
+        }
+        log.debug("Session catalog rebuilt: {} sessions", byId.size());
+        return Snapshot.of(byId, System.nanoTime());
+    }
+
+    private void patch(UnaryOperator<Snapshot> change) {
+        lock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = change.apply(snapshot);
+                generation.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<SessionResponse> withParticipants(Collection<SessionResponse> sessions) {
+        Map<Long, Integer> participants = seatCounter.counts(sessions.stream().map(SessionResponse::getId).toList());
+        return sessions.stream()
+                .map(session -> withParticipants(session, participants.getOrDefault(session.getId(), 0)))
+                .toList();
+    }
+
+    /**
+     * Copy, so callers never see or modify the shared snapshot entries.
+     */
+    private static SessionResponse withParticipants(SessionResponse session, int currentParticipants) {
+        return new SessionResponse(session.getId(), session.getProposalId(), session.getSpeakerId(),
+                session.getSpeakerName(), session.getTitle(), session.getDescription(), session.getSessionTime(),
+                session.getDurationMinutes(), session.getRoom(), session.getMaxParticipants(), currentParticipants,
+                session.getStatus(), session.getCreatedAt(), session.getVersion());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Immutable; patches copy the maps, which is cheap next to a rebuild for a conference-sized catalog.
+     */
+    private record Snapshot(NavigableMap<Long, SessionResponse> byId, List<SessionResponse> byTime, long builtAtNanos) {
+
+        private static final Comparator<SessionResponse> BY_TIME = Comparator
+                .comparing(SessionResponse::getSessionTime)
+                .thenComparing(SessionResponse::getId);
+
+        static Snapshot of(NavigableMap<Long, SessionResponse> byId, long builtAtNanos) {
+            List<SessionResponse> byTime = byId.values().stream().sorted(BY_TIME).toList();
+            return new Snapshot(Collections.unmodifiableNavigableMap(byId), byTime, builtAtNanos);
+        }
+
+        Snapshot with(SessionResponse session) {
+            NavigableMap<Long, SessionResponse> copy = new TreeMap<>(byId);
+            copy.put(session.getId(), session);
+            return of(copy, builtAtNanos);
+        }
+
+        Snapshot without(Long id) {
+            if (!byId.containsKey(id)) {
+                return this;
+            }
+            NavigableMap<Long, SessionResponse> copy = new TreeMap<>(byId);
+            copy.remove(id);
+            return of(copy, builtAtNanos);
+        }
+
+        /**
+         * Number of sessions starting before {@code now}, by binary search over the time-ordered list.
+         */
+        int startedBefore(LocalDateTime now) {
+            int low = 0;
+            int high = byTime.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (byTime.get(mid).getSessionTime().isBefore(now)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        boolean isExpired(long maxAgeMs) {
+            return System.nanoTime() - builtAtNanos > TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        }
+    }
+}
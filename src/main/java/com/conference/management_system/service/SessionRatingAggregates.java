@@ -0,0 +1,248 @@
+package com.conference.management_system.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.entity.SessionRatingSummary;
+import com.conference.management_system.repository.FeedbackRepository;
+import com.conference.management_system.repository.SessionRatingSummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-session rating totals backed by {@code session_rating_summaries}.
+ * <p>
+ * Feedback writes adjust the session's summary row in their own transaction, so the row always matches the
+ * committed feedback. Reads come from a short-lived in-memory copy of the row and cost the same however much
+ * feedback a session has. A periodic reconciliation recomputes the totals from the feedback table and repairs
+ * any row that drifted, e.g. after feedback was changed directly in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class SessionRatingAggregates {
+
+    static final int MAX_RATING = 5;
+
+    private final SessionRatingSummaryRepository summaryRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${feedback.rating-summary.cache-ms:5000}")
+    private long cacheMs;
+
+    private final Map<Long, Summary> cache = new ConcurrentHashMap<>();
+
+    // Bumped after each change becomes visible; lets derived views tell how much changed since they were built
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Create the empty summary of a new session. Must run in the transaction that inserts the session.
+     */
+    void initialize(Long sessionId) {
+        summaryRepository.save(new SessionRatingSummary(sessionId));
+    }
+
+    /**
+     * Count a new rating. Must run in the transaction that inserts the feedback.
+     */
+    void added(Long sessionId, int rating) {
+        adjust(sessionId, rating, 1);
+    }
+
+    /**
+     * Count a batch of new ratings of one session at once, e.g. buffered feedback; {@code histogram[i]} counts the
+     * ratings of {@code i + 1}. Must run in the transaction that inserts the feedback.
+     */
+    void added(Long sessionId, long[] histogram) {
+        long sum = 0;
+        for (int i = 0; i < MAX_RATING; i++) {
+            sum += histogram[i] * (i + 1);
+        }
+        if (summaryRepository.adjustAll(sessionId, histogram[0], histogram[1], histogram[2], histogram[3],
+                histogram[4], sum) == 0) {
+            createFromFeedback(sessionId);
+        }
+        invalidate(sessionId);
+    }
+
+    /**
+     * Uncount a rating. Must run in the transaction that deletes the feedback.
+     */
+    void removed(Long sessionId, int rating) {
+        adjust(sessionId, rating, -1);
+    }
+
+    void delete(Long sessionId) {
+        summaryRepository.deleteById(sessionId);
+        invalidate(sessionId);
+    }
+
+    /**
+     * Totals for display, at most {@code feedback.rating-summary.cache-ms} old.
+     */
+    Summary get(Long sessionId) {
+        Summary cached = cache.get(sessionId);
+        if (cached != null && !cached.isExpired(cacheMs)) {
+            return cached;
+        }
+        Summary loaded = summaryRepository.findById(sessionId)
+                .map(row -> new Summary(row.histogram(), System.nanoTime()))
+                .orElseGet(() -> new Summary(new long[MAX_RATING], System.nanoTime()));
+        cache.put(sessionId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Number of rating changes made on this node.
+     */
+    long changes() {
+        return changes.get();
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.rating-summary.reconcile-interval-ms:3600000}",
+            initialDelayString = "${feedback.rating-summary.reconcile-interval-ms:3600000}")
+    void reconcile() {
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Object[] row : feedbackRepository.countRatingsBySession()) {
+            long[] histogram = actual.computeIfAbsent((Long) row[0], id -> new long[MAX_RATING]);
+            histogram[((Number) row[1]).intValue() - 1] = ((Number) row[2]).longValue();
+        }
+        Map<Long, long[]> stored = new HashMap<>();
+        summaryRepository.findAll().forEach(row -> stored.put(row.getSessionId(), row.histogram()));
+
+        Set<Long> sessionIds = new HashSet<>(stored.keySet());
+        sessionIds.addAll(actual.keySet());
+        int repaired = 0;
+        for (Long sessionId : sessionIds) {
+            long[] expected = actual.getOrDefault(sessionId, new long[MAX_RATING]);
+            // Rows missing for sessions without feedback are fine; they are created on the first rating
+            if (!Arrays.equals(expected, stored.getOrDefault(sessionId, new long[MAX_RATING]))) {
+                Boolean fixed = transactionTemplate.execute(status -> repair(sessionId));
+                if (Boolean.TRUE.equals(fixed)) {
+                    repaired++;
+                }
+            }
+        }
+        log.info("Rating summaries reconciled: {} sessions checked, {} repaired", sessionIds.size(), repaired);
+    }
+
+    private void adjust(Long sessionId, int rating, long delta) {
+        if (summaryRepository.adjust(sessionId, rating, delta) == 0) {
+            createFromFeedback(sessionId);
+        }
+        invalidate(sessionId);
+    }
+
+    // Session created before the summaries existed; the count already includes the change being applied
+    private void createFromFeedback(Long sessionId) {
+        SessionRatingSummary row = new SessionRatingSummary(sessionId);
+        row.setHistogram(countRatings(sessionId));
+        summaryRepository.save(row);
+    }
+
+    /**
+     * Recount one session under the row lock that feedback writes also take, so the recount cannot interleave
+     * with one of them. Returns whether the row had to change.
+     */
+    private boolean repair(Long sessionId) {
+        SessionRatingSummary row = summaryRepository.findForUpdate(sessionId).orElse(null);
+        long[] expected = countRatings(sessionId);
+        if (row == null) {
+            row = new SessionRatingSummary(sessionId);
+        } else if (Arrays.equals(expected, row.histogram())) {
+            return false;
+        }
+        log.warn("Rating summary out of date: sessionId={}, stored={}, actual={}",
+                sessionId, Arrays.toString(row.histogram()), Arrays.toString(expected));
+        row.setHistogram(expected);
+        summaryRepository.save(row);
+        invalidate(sessionId);
+        return true;
+    }
+
+    private long[] countRatings(Long sessionId) {
+        long[] histogram = new long[MAX_RATING];
+        for (Object[] row : feedbackRepository.countRatings(sessionId)) {
+            histogram[((Number) row[0]).intValue() - 1] = ((Number) row[1]).longValue();
+        }
+        return histogram;
+    }
+
+    /**
+     * Drop the cached totals once the change is visible to other transactions.
+     */
+    private void invalidate(Long sessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.remove(sessionId);
+            changes.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.remove(sessionId);
+                changes.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Immutable totals of one session; {@code histogram[i]} counts the ratings of {@code i + 1}.
+     */
+    record Summary(long[] histogram, long loadedAtNanos) {
+
+        long count() {
+            return Arrays.stream(histogram).sum();
+        }
+
+        double average() {
+            long count = count();
+            if (count == 0) {
+                return 0.0;
+            }
+            long sum = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                sum += histogram[i] * (i + 1);
+            }
+            return (double) sum / count;
+        }
+
+        /**
+         * Nearest-rank percentile, or null without ratings.
+         */
+        Integer percentile(int percent) {
+            long count = count();
+            if (count == 0) {
+                return null;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return i + 1;
+                }
+            }
+            return histogram.length;
+        }
+
+        boolean isExpired(long cacheMs) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(cacheMs);
+        }
+    }
+}
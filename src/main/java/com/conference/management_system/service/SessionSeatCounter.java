@@ -0,0 +1,295 @@
+package com.conference.management_system.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.SessionSeatStripe;
+import com.conference.management_system.repository.SessionSeatStripeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Striped participant counter for sessions, backed by {@code session_seat_stripes}.
+ * <p>
+ * A session's capacity is split across its stripes. A claim starts at a random stripe and moves on to the next
+ * while stripes are full, so concurrent registrations mostly update different rows and write throughput on a
+ * popular session grows with the number of stripes. Capacity stays exact: no stripe goes over its share, and a
+ * session is only reported full once every stripe was. Totals shown to clients come from a short-lived cache;
+ * decisions that need the exact count read the stripes directly.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class SessionSeatCounter {
+
+    private final SessionSeatStripeRepository stripeRepository;
+
+    @Value("${registration.seat-stripes:8}")
+    private int stripes;
+
+    @Value("${registration.seat-count.cache-ms:1000}")
+    private long cacheMs;
+
+    private final Map<Long, CachedCount> counts = new ConcurrentHashMap<>();
+    
+    // Bumped after a cached total is dropped, so a reader that sees the new value also reads the new total
+    private final AtomicLong changes = new AtomicLong();
+
+    // Stripe count per session, as last read; a resize on another node can change it, see recount()
+    private final Map<Long, Integer> stripeCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Create the stripes of a new session. Must run in the transaction that inserts the session.
+     */
+    void initialize(Session session) {
+        int count = stripesFor(session.getMaxParticipants());
+        List<SessionSeatStripe> rows = new ArrayList<>(count);
+        int[] capacities = split(session.getMaxParticipants(), count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new SessionSeatStripe(session.getId(), i, capacities[i], 0));
+        }
+        stripeRepository.saveAll(rows);
+        stripeCounts.put(session.getId(), count);
+    }
+
+    /**
+     * Claim one seat in the caller's transaction. Returns false if every stripe is full.
+     */
+    boolean tryClaim(Long sessionId) {
+        int count = stripesOf(sessionId);
+        if (tryClaim(sessionId, count)) {
+            return true;
+        }
+        int current = recount(sessionId, count);
+        return current != count && tryClaim(sessionId, current);
+    }
+
+    private boolean tryClaim(Long sessionId, int count) {
+        int start = ThreadLocalRandom.current().nextInt(Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            if (stripeRepository.tryClaim(sessionId, (start + i) % count) == 1) {
+                invalidate(sessionId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void release(Long sessionId) {
+        int count = stripesOf(sessionId);
+        if (release(sessionId, count)) {
+            return;
+        }
+        int current = recount(sessionId, count);
+        if (current == count || !release(sessionId, current)) {
+            log.warn("No seat to release: sessionId={}", sessionId);
+        }
+    }
+
+    private boolean release(Long sessionId, int count) {
+        int start = ThreadLocalRandom.current().nextInt(Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            if (stripeRepository.release(sessionId, (start + i) % count) == 1) {
+                invalidate(sessionId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add seats already admitted elsewhere (the in-memory seat inventory) under a lock on all stripes.
+     */
+    void add(Long sessionId, int seats) {
+        int remaining = seats;
+        List<SessionSeatStripe> rows = stripeRepository.findBySessionIdForUpdate(sessionId);
+        for (SessionSeatStripe row : rows) {
+            int taken = Math.min(remaining, row.getCapacity() - row.getUsed());
+            if (taken > 0) {
+                row.setUsed(row.getUsed() + taken);
+                remaining -= taken;
+            }
+        }
+        if (remaining > 0 && !rows.isEmpty()) {
+            log.warn("Seat stripes over capacity by {}: sessionId={}", remaining, sessionId);
+            SessionSeatStripe last = rows.get(rows.size() - 1);
+            last.setCapacity(last.getCapacity() + remaining);
+            last.setUsed(last.getUsed() + remaining);
+        }
+        invalidate(sessionId);
+    }
+
+    /**
+     * Spread a new max participants over the stripes. Stripes are added or dropped to match the new capacity, but
+     * only empty stripes at the end are dropped. Seats in use stay where they are and the free seats are shared out
+     * evenly; lowering the capacity below the current count leaves the session full.
+     */
+    void resize(Long sessionId, int maxParticipants) {
+        List<SessionSeatStripe> rows = new ArrayList<>(stripeRepository.findBySessionIdForUpdate(sessionId));
+        if (rows.isEmpty()) {
+            return;
+        }
+        int count = stripesFor(maxParticipants);
+        while (rows.size() > count && rows.get(rows.size() - 1).getUsed() == 0) {
+            stripeRepository.delete(rows.remove(rows.size() - 1));
+        }
+        while (rows.size() < count) {
+            rows.add(stripeRepository.save(new SessionSeatStripe(sessionId, rows.size(), 0, 0)));
+        }
+        int used = rows.stream().mapToInt(SessionSeatStripe::getUsed).sum();
+        int[] free = split(Math.max(0, maxParticipants - used), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setCapacity(rows.get(i).getUsed() + free[i]);
+        }
+        int resized = rows.size();
+        afterCompletion(() -> stripeCounts.put(sessionId, resized), () -> stripeCounts.remove(sessionId));
+        invalidate(sessionId);
+    }
+
+    void delete(Long sessionId) {
+        stripeRepository.deleteBySessionId(sessionId);
+        stripeCounts.remove(sessionId);
+        invalidate(sessionId);
+    }
+
+    /**
+     * Participant count for display, at most {@code registration.seat-count.cache-ms} old.
+     */
+    int count(Long sessionId) {
+        CachedCount cached = counts.get(sessionId);
+        if (cached != null && !cached.isExpired(cacheMs)) {
+            return cached.value();
+        }
+        int value = countNow(sessionId);
+        counts.put(sessionId, new CachedCount(value, System.nanoTime()));
+        return value;
+    }
+
+    /**
+     * Cached counts for several sessions, loading all misses with one query.
+     */
+    Map<Long, Integer> counts(Collection<Long> sessionIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long sessionId : sessionIds) {
+            CachedCount cached = counts.get(sessionId);
+            if (cached != null && !cached.isExpired(cacheMs)) {
+                result.put(sessionId, cached.value());
+            } else {
+                missing.add(sessionId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Integer> loaded = countsNow(missing);
+            long now = System.nanoTime();
+            for (Long sessionId : missing) {
+                int value = loaded.getOrDefault(sessionId, 0);
+                counts.put(sessionId, new CachedCount(value, now));
+                result.put(sessionId, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of participant count changes made on this node; used to build catalog validators.
+     */
+    long changes() {
+        return changes.get();
+    }
+    
+    int countNow(Long sessionId) {
+        return (int) stripeRepository.sumUsed(sessionId);
+    }
+
+    Map<Long, Integer> countsNow(Collection<Long> sessionIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        for (Object[] row : stripeRepository.sumUsedBySessionIds(sessionIds)) {
+            result.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return result;
+    }
+
+    /**
+     * One stripe per seat for small sessions, since a stripe with no capacity can never be claimed.
+     */
+    private int stripesFor(int maxParticipants) {
+        return Math.max(1, Math.min(stripes, maxParticipants));
+    }
+
+    private int stripesOf(Long sessionId) {
+        Integer count = stripeCounts.get(sessionId);
+        if (count == null) {
+            count = stripeRepository.countStripes(sessionId);
+            if (count > 0) {
+                stripeCounts.put(sessionId, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Re-read the stripe count after every cached stripe was tried, in case a resize elsewhere changed it.
+     */
+    private int recount(Long sessionId, int cached) {
+        int current = stripeRepository.countStripes(sessionId);
+        if (current == cached || current == 0) {
+            return cached;
+        }
+        stripeCounts.put(sessionId, current);
+        return current;
+    }
+
+    /**
+     * Drop the cached total once the change is visible to other transactions.
+     */
+    private void invalidate(Long sessionId) {
+        Runnable drop = () -> {
+            counts.remove(sessionId);
+            changes.incrementAndGet();
+        };
+        afterCompletion(drop, drop);
+    }
+
+    private static void afterCompletion(Runnable committed, Runnable rolledBack) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                (status == STATUS_COMMITTED ? committed : rolledBack).run();
+            }
+        });
+    }
+
+    private static int[] split(int total, int parts) {
+        int[] shares = new int[parts];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = total / shares.length + (i < total % shares.length ? 1 : 0);
+        }
+        return shares;
+    }
+
+    private record CachedCount(int value, long loadedAtNanos) {
+
+        boolean isExpired(long cacheMs) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(cacheMs);
+        }
+    }
+}
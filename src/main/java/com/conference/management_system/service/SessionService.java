@@ -1,23 +1,28 @@
 package com.conference.management_system.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.SessionRequest;
 import com.conference.management_system.dto.SessionResponse;
 import com.conference.management_system.entity.Proposal;
 import com.conference.management_system.entity.Session;
-import com.conference.management_system.entity.User;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.ProposalRepository;
 import com.conference.management_system.repository.SessionRepository;
-import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,9 +30,18 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SessionService {
     
+    private static final String ROOM_OVERLAP_CONSTRAINT = "sessions_room_no_overlap";
+    private static final String SPEAKER_OVERLAP_CONSTRAINT = "sessions_speaker_no_overlap";
+    
     private final SessionRepository sessionRepository;
     private final ProposalRepository proposalRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserContext currentUser;
+    private final UserScheduleIndex scheduleIndex;
+    private final RoomCalendarIndex calendarIndex;
+    private final SessionSeatCounter seatCounter;
+    private final SessionCatalogCache catalogCache;
+    private final SessionRatingAggregates ratingAggregates;
+    private final KeysetPager pager;
     
     @Transactional
     public SessionResponse createSession(SessionRequest request) {
@@ -39,14 +53,8 @@ public class SessionService {
             throw ApiException.badRequest("Only accepted proposals can be scheduled");
         }
         
-        // Check for time conflicts
-        LocalDateTime endTime = request.getSessionTime().plusMinutes(request.getDurationMinutes());
-        List<Session> conflicts = sessionRepository.findConflictingSessions(
-                request.getSessionTime(), endTime);
-        
-        if (!conflicts.isEmpty()) {
-            throw ApiException.conflict("Time slot conflicts with existing session");
-        }
+        // Check for room and speaker conflicts
+        checkConflicts(null, request, proposal.getUser().getId());
         
         Session session = new Session();
         session.setProposal(proposal);
@@ -61,33 +69,97 @@ public class SessionService {
             session.setMaxParticipants(request.getMaxParticipants());
         }
         
-        Session saved = sessionRepository.save(session);
-        return mapToResponse(saved);
+        Session saved = saveChecked(session);
+        seatCounter.initialize(saved);
+        ratingAggregates.initialize(saved.getId());
+        calendarIndex.scheduled(saved);
+        catalogCache.put(saved);
+        return toResponse(saved, 0);
     }
     
     public List<SessionResponse> getAllSessions() {
-        return sessionRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (catalogCache.isEnabled()) {
+            return pager.capped(catalogCache.all(), "GET /api/sessions");
+        }
+        List<Session> sessions = sessionRepository.findBy(SessionRepository.withSpeakerAndProposal(),
+                query -> query.sortBy(KeysetPager.sort("sessionTime")).limit(pager.unpagedMaxRows()).all());
+        return mapToResponses(pager.capped(sessions, "GET /api/sessions"));
     }
     
     public List<SessionResponse> getUpcomingSessions() {
-        return sessionRepository.findUpcomingSessions(LocalDateTime.now()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        if (catalogCache.isEnabled()) {
+            return pager.capped(catalogCache.upcoming(LocalDateTime.now()), "GET /api/sessions/upcoming");
+        }
+        List<Session> sessions = sessionRepository.findUpcomingSessions(LocalDateTime.now(),
+                Limit.of(pager.unpagedMaxRows()));
+        return mapToResponses(pager.capped(sessions, "GET /api/sessions/upcoming"));
+    }
+    
+    /**
+     * One page of sessions ordered by start time, optionally filtered by status, room and a start time range.
+     */
+    public PageResponse<SessionResponse> getSessionsPage(String cursor, Integer limit, String status, String room,
+            LocalDateTime from, LocalDateTime to) {
+        List<Specification<Session>> filters = new ArrayList<>();
+        filters.add(SessionRepository.withSpeakerAndProposal());
+        if (status != null) {
+            filters.add(SessionRepository.hasStatus(parseStatus(status)));
+        }
+        if (room != null) {
+            filters.add(SessionRepository.inRoom(room));
+        }
+        if (from != null) {
+            filters.add(SessionRepository.startsFrom(from));
+        }
+        if (to != null) {
+            filters.add(SessionRepository.startsBefore(to));
+        }
+        int pageSize = pager.limit(limit);
+        Window<Session> window = sessionRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(KeysetPager.sort("sessionTime")).limit(pageSize)
+                        .scroll(pager.position(cursor, "sessionTime")));
+        return pager.pageOf(window, Session::getSessionTime, Session::getId, this::mapToResponses);
     }
     
     public SessionResponse getSessionById(Long id) {
+        if (catalogCache.isEnabled()) {
+            Optional<SessionResponse> cached = catalogCache.find(id);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
         Session session = sessionRepository.findById(id)
             .orElseThrow(() -> ApiException.notFound("Session not found"));
-        return mapToResponse(session);
+        return toResponse(session, seatCounter.count(id));
+    }
+    
+    /**
+     * Strong validator for {@link #getSessionById}: the session version plus its participant count, which changes
+     * without touching the version. Null if the session does not exist.
+     */
+    public String getSessionETag(Long id) {
+        Optional<Long> version = catalogCache.isEnabled()
+                ? catalogCache.version(id).or(() -> sessionRepository.findVersionById(id))
+                : sessionRepository.findVersionById(id);
+        return version.map(v -> "\"" + id + "-" + v + "-" + seatCounter.count(id) + "\"").orElse(null);
+    }
+    
+    /**
+     * Weak validator for {@link #getAllSessions}, or null when the catalog cache is disabled.
+     */
+    public String getSessionsETag() {
+        return catalogCache.isEnabled() ? catalogCache.allTag() : null;
+    }
+    
+    /**
+     * Weak validator for {@link #getUpcomingSessions}, or null when the catalog cache is disabled.
+     */
+    public String getUpcomingSessionsETag() {
+        return catalogCache.isEnabled() ? catalogCache.upcomingTag(LocalDateTime.now()) : null;
     }
     
     public List<SessionResponse> getMySessions() {
-        User currentUser = getCurrentUser();
-        return sessionRepository.findBySpeakerId(currentUser.getId()).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(sessionRepository.findBySpeakerId(currentUser.getId()));
     }
     
     @Transactional
@@ -95,16 +167,8 @@ public class SessionService {
         Session session = sessionRepository.findById(id)
                 .orElseThrow(() -> ApiException.notFound("Session not found"));
         
-        // Check for time conflicts (excluding current session)
-        LocalDateTime endTime = request.getSessionTime().plusMinutes(request.getDurationMinutes());
-        List<Session> conflicts = sessionRepository.findConflictingSessions(
-                request.getSessionTime(), endTime).stream()
-                .filter(s -> !s.getId().equals(id))
-                .collect(Collectors.toList());
-        
-        if (!conflicts.isEmpty()) {
-            throw ApiException.conflict("Time slot conflicts with existing session");
-        }
+        // Check for room and speaker conflicts (excluding current session)
+        checkConflicts(id, request, session.getSpeaker().getId());
         
         session.setSessionTime(request.getSessionTime());
         session.setDurationMinutes(request.getDurationMinutes());
@@ -112,10 +176,15 @@ public class SessionService {
         
         if (request.getMaxParticipants() != null) {
             session.setMaxParticipants(request.getMaxParticipants());
+            seatCounter.resize(id, request.getMaxParticipants());
         }
         
-        Session updated = sessionRepository.save(session);
-        return mapToResponse(updated);
+        Session updated = saveChecked(session);
+        calendarIndex.scheduled(updated);
+        // Attendees' cached schedules hold the old time slot
+        scheduleIndex.sessionChanged(id);
+        catalogCache.put(updated);
+        return toResponse(updated, seatCounter.count(id));
     }
     
     @Transactional
@@ -123,21 +192,64 @@ public class SessionService {
         Session session = sessionRepository.findById(id)
                 .orElseThrow(() -> ApiException.notFound("Session does not exist"));
         
-        if (session.getCurrentParticipants() > 0) {
+        if (seatCounter.countNow(id) > 0) {
             throw ApiException.conflict("Cannot delete session with registered participants");
         }
         
+        seatCounter.delete(id);
+        ratingAggregates.delete(id);
         sessionRepository.delete(session);
+        calendarIndex.removed(id);
+        catalogCache.remove(id);
+        scheduleIndex.sessionChanged(id);
     }
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> ApiException.notFound("User not found"));
+    private void checkConflicts(Long sessionId, SessionRequest request, Long speakerId) {
+        LocalDateTime startTime = request.getSessionTime();
+        LocalDateTime endTime = startTime.plusMinutes(request.getDurationMinutes());
+        if (calendarIndex.roomBusy(request.getRoom(), startTime, endTime, sessionId)) {
+            throw ApiException.conflict("Room is already booked at this time");
+        }
+        if (calendarIndex.speakerBusy(speakerId, startTime, endTime, sessionId)) {
+            throw ApiException.conflict("Speaker already has a session at this time");
+        }
+    }
+    
+    /**
+     * Flush so that a session booked concurrently on another node surfaces as a conflict
+     * from the database exclusion constraints rather than a failed commit.
+     */
+    private Session saveChecked(Session session) {
+        try {
+            return sessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(ROOM_OVERLAP_CONSTRAINT)) {
+                throw ApiException.conflict("Room is already booked at this time");
+            }
+            if (message != null && message.contains(SPEAKER_OVERLAP_CONSTRAINT)) {
+                throw ApiException.conflict("Speaker already has a session at this time");
+            }
+            throw e;
+        }
+    }
+    
+    private static Session.SessionStatus parseStatus(String status) {
+        try {
+            return Session.SessionStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw ApiException.badRequest("Unknown session status: " + status);
+        }
+    }
+    
+    private List<SessionResponse> mapToResponses(List<Session> sessions) {
+        Map<Long, Integer> participants = seatCounter.counts(sessions.stream().map(Session::getId).toList());
+        return sessions.stream()
+                .map(session -> toResponse(session, participants.getOrDefault(session.getId(), 0)))
+                .collect(Collectors.toList());
     }
     
-    private SessionResponse mapToResponse(Session session) {
+    static SessionResponse toResponse(Session session, Integer currentParticipants) {
         SessionResponse response = new SessionResponse();
         response.setId(session.getId());
         response.setProposalId(session.getProposal().getId());
@@ -149,9 +261,10 @@ public class SessionService {
         response.setDurationMinutes(session.getDurationMinutes());
         response.setRoom(session.getRoom());
         response.setMaxParticipants(session.getMaxParticipants());
-        response.setCurrentParticipants(session.getCurrentParticipants());
+        response.setCurrentParticipants(currentParticipants);
         response.setStatus(session.getStatus());
         response.setCreatedAt(session.getCreatedAt());
+        response.setVersion(session.getVersion());
         return response;
     }
 }
@@ -0,0 +1,161 @@
+package com.conference.management_system.service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.repository.RegistrationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user index of the time slots of confirmed registrations, used for schedule conflict checks.
+ * <p>
+ * A user's intervals are loaded lazily from the database on their first check and then kept up to date
+ * as registrations are confirmed and cancelled. Confirmations are applied right away and taken back if the
+ * transaction rolls back, so a registration waiting on the user's row lock already sees them; cancellations are
+ * applied once the transaction commits. Sessions whose time changes are dropped from the index and reloaded on
+ * demand. The number of
+ * cached users is bounded; with {@code registration.schedule-index.enabled=false} every check queries the
+ * indexed session_time/session_end range instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class UserScheduleIndex {
+
+    private static final int STRIPES = 64;
+
+    private final RegistrationRepository registrationRepository;
+
+    @Value("${registration.schedule-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${registration.schedule-index.max-users:50000}")
+    private int maxUsers;
+
+    private final Map<Long, IntervalSet> schedules = new ConcurrentHashMap<>();
+
+    // Bumped on every change; a lazy load is only cached if its stripe did not move while it read the database
+    private final AtomicLongArray modifications = new AtomicLongArray(STRIPES);
+
+    boolean hasConflict(Long userId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled) {
+            return !registrationRepository.findUserRegistrationConflicts(userId, start, end).isEmpty();
+        }
+        return scheduleOf(userId).overlaps(start, end);
+    }
+
+    /**
+     * Record a confirmed registration (new or promoted from the waitlist), before the transaction commits and
+     * the user's row lock is released. Until then it may cause a spurious conflict, never a missed one.
+     */
+    void registered(Long userId, Session session) {
+        IntervalSet.Interval interval = intervalOf(session);
+        modifications.incrementAndGet(stripe(userId));
+        schedules.computeIfPresent(userId, (id, schedule) -> schedule.with(interval));
+        afterRollback(() -> {
+            modifications.incrementAndGet(stripe(userId));
+            schedules.computeIfPresent(userId, (id, schedule) -> schedule.without(interval.sessionId()));
+        });
+    }
+
+    void cancelled(Long userId, Long sessionId) {
+        afterCommit(() -> {
+            modifications.incrementAndGet(stripe(userId));
+            schedules.computeIfPresent(userId, (id, schedule) -> schedule.without(sessionId));
+        });
+    }
+
+    /**
+     * Forget every schedule containing the session, e.g. after its time changed or it was deleted.
+     */
+    void sessionChanged(Long sessionId) {
+        afterCommit(() -> {
+            for (int i = 0; i < STRIPES; i++) {
+                modifications.incrementAndGet(i);
+            }
+            schedules.values().removeIf(schedule -> schedule.contains(sessionId));
+        });
+    }
+
+    private IntervalSet scheduleOf(Long userId) {
+        IntervalSet schedule = schedules.get(userId);
+        if (schedule != null) {
+            return schedule;
+        }
+        long modificationsBefore = modifications.get(stripe(userId));
+        List<Session> sessions = registrationRepository.findSessionsByUserIdAndStatus(
+                userId, Registration.RegistrationStatus.CONFIRMED);
+        schedule = IntervalSet.of(sessions.stream()
+                .map(UserScheduleIndex::intervalOf)
+                .toList());
+        if (modifications.get(stripe(userId)) == modificationsBefore) {
+            if (schedules.size() >= maxUsers) {
+                evictOne();
+            }
+            schedules.putIfAbsent(userId, schedule);
+            if (modifications.get(stripe(userId)) != modificationsBefore) {
+                // A change landed between the check and the put and may have missed the new entry
+                schedules.remove(userId, schedule);
+            }
+        }
+        return schedule;
+    }
+
+    private void evictOne() {
+        // Any entry will do: an evicted schedule is simply reloaded on that user's next check
+        Iterator<Long> it = schedules.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    static IntervalSet.Interval intervalOf(Session session) {
+        return new IntervalSet.Interval(session.getSessionTime(),
+                session.getSessionTime().plusMinutes(session.getDurationMinutes()), session.getId());
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,18 +1,24 @@
 package com.conference.management_system.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.conference.management_system.dto.PageResponse;
 import com.conference.management_system.dto.UserResponse;
 import com.conference.management_system.entity.User;
 import com.conference.management_system.entity.User.Role;
 import com.conference.management_system.exception.ApiException;
 import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.CurrentUserContext;
+import com.conference.management_system.security.TokenVersionRegistry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,14 +27,44 @@ import lombok.RequiredArgsConstructor;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CurrentUserContext currentUser;
+    private final KeysetPager pager;
     
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
+        List<User> users = userRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(pager.unpagedMaxRows()));
+        return pager.capped(users, "GET /api/users")
                 .stream()
                 .map(UserResponse::fromUser)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of users in sign-up order, optionally filtered by role and a sign-up time range.
+     */
+    public PageResponse<UserResponse> getUsersPage(String cursor, Integer limit, String role, LocalDateTime from,
+            LocalDateTime to) {
+        List<Specification<User>> filters = new ArrayList<>();
+        if (role != null) {
+            try {
+                filters.add(UserRepository.hasRole(Role.valueOf(role.toUpperCase())));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Invalid role: " + role);
+            }
+        }
+        if (from != null) {
+            filters.add(UserRepository.createdFrom(from));
+        }
+        if (to != null) {
+            filters.add(UserRepository.createdBefore(to));
+        }
+        int pageSize = pager.limit(limit);
+        Window<User> window = userRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(KeysetPager.sort("createdAt")).limit(pageSize)
+                        .scroll(pager.position(cursor, "createdAt")));
+        return pager.page(window, User::getCreatedAt, User::getId, UserResponse::fromUser);
+    }
+    
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> ApiException.notFound("User not found"));
@@ -44,6 +80,8 @@ public class UserService {
             Role role = Role.valueOf(roleStr.toUpperCase());
             user.setRole(role);
             userRepository.save(user);
+            // Role is embedded in issued tokens, so force the user to pick up a fresh one
+            tokenVersionRegistry.invalidate(user.getId());
             return UserResponse.fromUser(user);
         } catch (IllegalArgumentException e) {
             throw ApiException.badRequest("Invalid role: " + roleStr);
@@ -55,27 +93,16 @@ public class UserService {
         User userToDelete = userRepository.findById(id)
             .orElseThrow(() -> ApiException.notFound("User not found"));
 
-        // Get current authenticated user
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw ApiException.unauthorized("User not authenticated");
-        }
-        String currentUsername = authentication.getName();
-        User currentUser = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> ApiException.notFound("Current user not found"));
-
         // If the user to delete is an admin and is the same as the current user
         if (userToDelete.getRole() == Role.ADMIN && userToDelete.getId().equals(currentUser.getId())) {
-            long adminCount = userRepository.findAll()
-                    .stream()
-                    .filter(u -> u.getRole() == Role.ADMIN)
-                    .count();
+            long adminCount = userRepository.countByRole(Role.ADMIN);
             if (adminCount <= 1) {
                 throw ApiException.forbidden("At least one administrator must remain active.");
             }
         }
 
         userRepository.deleteById(id);
+        tokenVersionRegistry.invalidate(id);
         return userToDelete.getUsername();
     }
 }
@@ -0,0 +1,72 @@
+package com.conference.management_system;
+
+import java.time.LocalDateTime;
+
+import com.conference.management_system.entity.Feedback;
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.User;
+
+/**
+ * Unsaved entities for tests that seed the database through the repositories.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String username) {
+        return user(username, User.Role.USER);
+    }
+
+    /**
+     * A user that never logs in with a password; tests authenticate with a principal or a generated token.
+     */
+    public static User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.local");
+        user.setPassword("not-used");
+        user.setFullName(username);
+        user.setRole(role);
+        return user;
+    }
+
+    public static Proposal proposal(User speaker, String title, Proposal.ProposalStatus status) {
+        Proposal proposal = new Proposal();
+        proposal.setUser(speaker);
+        proposal.setTitle(title);
+        proposal.setStatus(status);
+        return proposal;
+    }
+
+    /**
+     * A session of the proposal's speaker; callers set the capacity when it matters.
+     */
+    public static Session session(Proposal proposal, String title, String room, LocalDateTime sessionTime) {
+        Session session = new Session();
+        session.setProposal(proposal);
+        session.setSpeaker(proposal.getUser());
+        session.setTitle(title);
+        session.setRoom(room);
+        session.setSessionTime(sessionTime);
+        return session;
+    }
+
+    public static Registration registration(User user, Session session, Registration.RegistrationStatus status) {
+        Registration registration = new Registration();
+        registration.setUser(user);
+        registration.setSession(session);
+        registration.setStatus(status);
+        return registration;
+    }
+
+    public static Feedback feedback(User user, Session session, int rating) {
+        Feedback feedback = new Feedback();
+        feedback.setUser(user);
+        feedback.setSession(session);
+        feedback.setRating(rating);
+        return feedback;
+    }
+}
@@ -0,0 +1,174 @@
+package com.conference.management_system.controller;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.repository.FeedbackRepository;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.RegistrationRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.JwtUtil;
+
+/**
+ * Every list endpoint runs the same number of SQL statements however many rows it returns. The count is the
+ * {@code X-Query-Count} header written from {@link com.conference.management_system.config.QueryStats}; each
+ * endpoint is measured, more rows are added, and it is measured again.
+ * <p>
+ * Caches that would hide statements (session catalog, seat counts, token versions) are turned off, so the
+ * counts are those of a cold request.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "query-stats.headers=true",
+    "session.catalog.enabled=false",
+    "registration.seat-count.cache-ms=0",
+    "jwt.token-version.cache-ms=0"
+})
+@ActiveProfiles("test")
+class ListQueryCountTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User admin;
+    private User speaker;
+    private User attendee;
+    private Session mainSession;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(user("count-admin", User.Role.ADMIN));
+        speaker = userRepository.save(user("count-speaker", User.Role.USER));
+        attendee = userRepository.save(user("count-attendee", User.Role.USER));
+        mainSession = transactionTemplate.execute(status -> createSession());
+    }
+
+    @Test
+    void listEndpointsRunAConstantNumberOfStatements() throws Exception {
+        seed(3);
+        Map<String, Integer> few = measureAll();
+
+        seed(20);
+        Map<String, Integer> many = measureAll();
+
+        SoftAssertions softly = new SoftAssertions();
+        few.forEach((endpoint, statements) ->
+                softly.assertThat(many.get(endpoint)).as(endpoint).isEqualTo(statements));
+        softly.assertAll();
+    }
+
+    private Map<String, Integer> measureAll() throws Exception {
+        String asAdmin = jwtUtil.generateToken(admin);
+        String asSpeaker = jwtUtil.generateToken(speaker);
+        String asAttendee = jwtUtil.generateToken(attendee);
+        long main = mainSession.getId();
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        measure(counts, "/api/sessions", asAdmin);
+        measure(counts, "/api/sessions/page", asAdmin);
+        measure(counts, "/api/sessions/upcoming", asAdmin);
+        measure(counts, "/api/sessions/my", asSpeaker);
+        measure(counts, "/api/users", asAdmin);
+        measure(counts, "/api/users/page", asAdmin);
+        measure(counts, "/api/proposals", asAdmin);
+        measure(counts, "/api/proposals/page", asAdmin);
+        measure(counts, "/api/proposals/status/PENDING", asAdmin);
+        measure(counts, "/api/proposals/my", asSpeaker);
+        measure(counts, "/api/registrations/my", asAttendee);
+        measure(counts, "/api/registrations/session/" + main, asAdmin);
+        measure(counts, "/api/registrations/session/" + main + "/page", asAdmin);
+        measure(counts, "/api/feedback/my", asAttendee);
+        measure(counts, "/api/feedback/session/" + main, asAdmin);
+        measure(counts, "/api/feedback/session/" + main + "/page", asAdmin);
+        return counts;
+    }
+
+    private void measure(Map<String, Integer> counts, String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(path).isEqualTo(200);
+        counts.put(path, Integer.parseInt(response.headers().firstValue("X-Query-Count").orElseThrow()));
+    }
+
+    /**
+     * Add {@code n} sessions (each with the attendee registered, every other one waitlisted, and rated), n more
+     * pending proposals, and n participants registered for and rating the main session, half of them waitlisted.
+     */
+    private void seed(int n) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < n; i++) {
+                int index = seeded++;
+                Session session = createSession();
+                registrationRepository.save(registration(attendee, session, index % 2 == 0
+                        ? Registration.RegistrationStatus.CONFIRMED
+                        : Registration.RegistrationStatus.WAITLISTED));
+                feedbackRepository.save(feedback(attendee, session, 4));
+
+                createProposal(Proposal.ProposalStatus.PENDING);
+
+                User participant = userRepository.save(user("count-participant" + index, User.Role.USER));
+                registrationRepository.save(registration(participant, mainSession, index % 2 == 0
+                        ? Registration.RegistrationStatus.CONFIRMED
+                        : Registration.RegistrationStatus.WAITLISTED));
+                feedbackRepository.save(feedback(participant, mainSession, 4));
+            }
+        });
+    }
+
+    private Session createSession() {
+        return sessionRepository.save(session(createProposal(Proposal.ProposalStatus.ACCEPTED),
+                "Counted session " + seeded, "Room " + seeded, LocalDateTime.now().plusDays(1).plusHours(2L * seeded)));
+    }
+
+    private Proposal createProposal(Proposal.ProposalStatus status) {
+        return proposalRepository.save(proposal(speaker, "Counted proposal " + seeded, status));
+    }
+}
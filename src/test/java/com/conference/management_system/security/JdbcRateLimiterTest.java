@@ -0,0 +1,107 @@
+package com.conference.management_system.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The shared token buckets against the test database. The proposal policy (10 per hour) keeps the local decision
+ * window long, and the scheduled flush is pushed out of the way so each test decides when consumption is pushed.
+ */
+@SpringBootTest(properties = {
+    "rate-limit.backend=jdbc",
+    "rate-limit.jdbc.cache-ms=60000",
+    "rate-limit.jdbc.flush-interval-ms=3600000",
+    "rate-limit.sweep-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class JdbcRateLimiterTest {
+
+    private static final RateLimitPolicy POLICY = RateLimitPolicy.PROPOSAL;
+    private static final int CAPACITY = 10;
+
+    @Autowired
+    private JdbcRateLimiter rateLimiter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void requestAfterTheBudgetIsRejected() {
+        for (int i = 0; i < CAPACITY; i++) {
+            rateLimiter.consume(POLICY, "enforced");
+        }
+
+        assertThatThrownBy(() -> rateLimiter.consume(POLICY, "enforced"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void missingBucketRowIsCreatedFull() {
+        assertThat(tokens("fresh")).isNull();
+
+        assertThat(rateLimiter.consume(POLICY, "fresh")).isEqualTo(CAPACITY - 1);
+
+        assertThat(tokens("fresh")).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void bucketCreatedByAnotherNodeMeanwhileIsUsed() {
+        JdbcTemplate racing = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (!sql.startsWith("INSERT")) {
+                    return super.update(sql, args);
+                }
+                // The other node inserts between our NOT EXISTS check and our insert, which then hits the key
+                String insert = "INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at) VALUES (?, ?, ?)";
+                super.update(insert, args[0], 3.0, args[2]);
+                return super.update(insert, args[0], args[1], args[2]);
+            }
+        };
+        JdbcRateLimiter otherNode = new JdbcRateLimiter(racing, transactionTemplate, environment);
+        ReflectionTestUtils.setField(otherNode, "maxEntries", 100);
+        ReflectionTestUtils.setField(otherNode, "cacheMs", 60_000L);
+        otherNode.init();
+
+        assertThat(otherNode.consume(POLICY, "raced")).isEqualTo(2);
+    }
+
+    @Test
+    void flushPendingPushesLocalConsumption() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.consume(POLICY, "flushed");
+        }
+        // Decided locally: the row still holds what the first request read
+        assertThat(tokens("flushed")).isEqualTo(CAPACITY);
+
+        rateLimiter.flushPending();
+
+        assertThat(tokens("flushed")).isCloseTo(CAPACITY - 4, within(0.01));
+    }
+
+    private Double tokens(String key) {
+        return jdbcTemplate.query("SELECT tokens FROM rate_limit_buckets WHERE bucket_key = ?",
+                rs -> rs.next() ? rs.getDouble(1) : null, POLICY.getName() + ':' + key);
+    }
+}
@@ -0,0 +1,87 @@
+package com.conference.management_system.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LocalRateLimiterTest {
+
+    @Test
+    void usernameBucketSurvivesClientKeyChurn() {
+        LocalRateLimiter limiter = limiter(new MockEnvironment(), 10, 10);
+        long capacity = RateLimitPolicy.LOGIN_USERNAME.capacity(new MockEnvironment());
+        for (int i = 0; i < capacity; i++) {
+            limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "alice");
+        }
+
+        // Forged X-Forwarded-For values: far more client keys than the budget holds
+        for (int i = 0; i < 1_000; i++) {
+            limiter.consume(RateLimitPolicy.LOGIN_IP, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertThatThrownBy(() -> limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "alice"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(bucketCount(limiter, "buckets")).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void newUsernameIsRejectedWhenUsernameBudgetIsFull() {
+        LocalRateLimiter limiter = limiter(new MockEnvironment(), 10, 2);
+        limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "alice");
+        limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "bob");
+
+        assertThatThrownBy(() -> limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "carol"))
+                .isInstanceOf(RateLimitExceededException.class);
+        // Live buckets are kept and still usable
+        limiter.consume(RateLimitPolicy.LOGIN_USERNAME, "alice");
+        assertThat(bucketCount(limiter, "usernameBuckets")).isEqualTo(2);
+    }
+
+    /**
+     * Allocation per call on the hot path (bucket already tracked). Measured with the per-thread allocation
+     * counter rather than a JMH harness; the bound is loose and only catches regressions such as a new bucket
+     * or map entry per request.
+     */
+    @Test
+    void consumeOnTrackedBucketAllocatesLittle() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported());
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.session-registration.capacity", "1000000");
+        LocalRateLimiter limiter = limiter(environment, 1_000, 1_000);
+
+        int calls = 100_000;
+        for (int i = 0; i < calls; i++) {
+            limiter.consume(RateLimitPolicy.SESSION_REGISTRATION, "42");
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            limiter.consume(RateLimitPolicy.SESSION_REGISTRATION, "42");
+        }
+        long perCall = (bean.getThreadAllocatedBytes(threadId) - before) / calls;
+
+        assertThat(perCall).isLessThan(512);
+    }
+
+    private static LocalRateLimiter limiter(MockEnvironment environment, int maxEntries, int maxUsernameEntries) {
+        LocalRateLimiter limiter = new LocalRateLimiter(environment);
+        ReflectionTestUtils.setField(limiter, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(limiter, "maxUsernameEntries", maxUsernameEntries);
+        ReflectionTestUtils.setField(limiter, "sweepIntervalMs", 60_000L);
+        limiter.init();
+        return limiter;
+    }
+
+    private static int bucketCount(LocalRateLimiter limiter, String field) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(limiter, field)).size();
+    }
+}
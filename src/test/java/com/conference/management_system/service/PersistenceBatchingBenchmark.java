@@ -0,0 +1,212 @@
+package com.conference.management_system.service;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.RegistrationRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.JwtPrincipal;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Write-path benchmark for pooled ids with JDBC batching, and for the seat inventory's batched registration flush.
+ * Not part of the normal build; run it with
+ * <pre>
+ * mvn test -Dtest=PersistenceBatchingBenchmark -Dbenchmark=true
+ * </pre>
+ * By default it runs on the in-memory H2 of the test profile, where there is no network round trip to save, so
+ * the numbers mostly show statement counts. For representative timings point it at a PostgreSQL database created
+ * from {@code database/init.sql}, e.g. with {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/bench
+ * -Dspring.datasource.username=... -Dspring.datasource.password=... -Dspring.jpa.hibernate.ddl-auto=none}.
+ * <p>
+ * Results are printed as one line per configuration: median time of the measured rounds and the statements
+ * Hibernate prepared per round.
+ */
+@SpringBootTest(properties = {
+    "registration.inventory.enabled=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceBatchingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+    private static final int USERS_PER_ROUND = 2_000;
+    private static final int REGISTRATIONS_PER_ROUND = 1_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SessionSeatCounter seatCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Shared by both tests: they run against the same database
+    private static int sequence;
+
+    @Test
+    void bulkUserInserts() {
+        for (int jdbcBatchSize : new int[] {1, 50}) {
+            run("bulk insert " + USERS_PER_ROUND + " users, jdbc batch " + jdbcBatchSize, () -> {
+                List<User> users = new ArrayList<>(USERS_PER_ROUND);
+                for (int i = 0; i < USERS_PER_ROUND; i++) {
+                    users.add(user("bench" + sequence++));
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(org.hibernate.Session.class).setJdbcBatchSize(jdbcBatchSize);
+                    userRepository.saveAll(users);
+                });
+            });
+        }
+    }
+
+    @Test
+    void inventoryRegistrationFlush() {
+        for (int inventoryBatchSize : new int[] {1, 200}) {
+            ReflectionTestUtils.setField(seatInventory, "batchSize", inventoryBatchSize);
+            run("register " + REGISTRATIONS_PER_ROUND + " users from " + THREADS + " threads, inventory batch "
+                    + inventoryBatchSize, () -> {
+                Session session = transactionTemplate.execute(status -> createSession(REGISTRATIONS_PER_ROUND));
+                List<User> users = new ArrayList<>(REGISTRATIONS_PER_ROUND);
+                for (int i = 0; i < REGISTRATIONS_PER_ROUND; i++) {
+                    users.add(user("bench" + sequence++));
+                }
+                userRepository.saveAll(users);
+                registerConcurrently(users, session.getId());
+                assertThat(registrationRepository.findUserIdsBySessionId(session.getId()))
+                        .hasSize(REGISTRATIONS_PER_ROUND);
+            });
+        }
+    }
+
+    private void run(String name, Round round) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        long[] nanos = new long[ROUNDS];
+        long statements = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            round.run();
+            nanos[i] = System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-70s median %6d ms, %7d statements per round%n", name,
+                TimeUnit.NANOSECONDS.toMillis(nanos[ROUNDS / 2]), statements / ROUNDS);
+    }
+
+    private void registerConcurrently(List<User> users, Long sessionId) {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (User user : users) {
+                results.add(executor.submit(registerAs(user, sessionId, start)));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Registration round failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Object> registerAs(User user, Long sessionId, CountDownLatch start) {
+        return () -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            JwtPrincipal principal = new JwtPrincipal(user.getId(), user.getUsername(), user.getRole());
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            try {
+                start.await();
+                return registrationService.registerForSession(sessionId);
+            } finally {
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    private Session createSession(int maxParticipants) {
+        User speaker = userRepository.save(user("bench-speaker" + sequence++));
+        Proposal proposal = proposalRepository.save(
+                proposal(speaker, "Benchmark proposal", Proposal.ProposalStatus.ACCEPTED));
+        Session session = session(proposal, "Benchmark session", "Benchmark room " + sequence,
+                LocalDateTime.now().plusDays(30).plusHours(sequence));
+        session.setMaxParticipants(maxParticipants);
+        session = sessionRepository.saveAndFlush(session);
+        seatCounter.initialize(session);
+        return session;
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        void run();
+    }
+}
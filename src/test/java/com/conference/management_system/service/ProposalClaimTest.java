@@ -0,0 +1,118 @@
+package com.conference.management_system.service;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.conference.management_system.dto.ProposalResponse;
+import com.conference.management_system.dto.ProposalReviewRequest;
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.JwtPrincipal;
+
+/**
+ * Claims on the review queue, one reviewer after the other. The batch limit is raised so a claim takes the whole
+ * queue, including pending proposals other tests left in the shared database.
+ */
+@SpringBootTest(properties = "proposal.claim.max-batch=1000")
+@ActiveProfiles("test")
+class ProposalClaimTest {
+
+    private static final int WHOLE_QUEUE = 1000;
+
+    @Autowired
+    private ProposalService proposalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int sequence;
+
+    private User first;
+    private User second;
+    private Long proposalId;
+
+    @BeforeEach
+    void setUp() {
+        int run = sequence++;
+        User speaker = userRepository.save(user("claim-speaker" + run));
+        first = userRepository.save(user("claim-reviewer-a" + run, User.Role.COORDINATOR));
+        second = userRepository.save(user("claim-reviewer-b" + run, User.Role.COORDINATOR));
+        proposalId = proposalRepository.save(
+                proposal(speaker, "Claimed proposal " + run, Proposal.ProposalStatus.PENDING)).getId();
+    }
+
+    @Test
+    void secondClaimDoesNotGetTheFirstClaimersProposals() {
+        List<Long> claimedByFirst = ids(as(first, () -> proposalService.claimProposals(WHOLE_QUEUE)));
+        List<Long> claimedBySecond = ids(as(second, () -> proposalService.claimProposals(WHOLE_QUEUE)));
+
+        assertThat(claimedByFirst).contains(proposalId);
+        assertThat(claimedBySecond).doesNotContainAnyElementsOf(claimedByFirst);
+    }
+
+    @Test
+    void reviewByAnotherReviewerThanTheHolderIsAConflict() {
+        as(first, () -> proposalService.claimProposals(WHOLE_QUEUE));
+
+        assertThatThrownBy(() -> as(second, () -> proposalService.reviewProposal(proposalId,
+                        new ProposalReviewRequest("ACCEPTED", null))))
+                .isInstanceOfSatisfying(ApiException.class,
+                        conflict -> assertThat(conflict.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void expiredClaimCanBeClaimedAgain() {
+        as(first, () -> proposalService.claimProposals(WHOLE_QUEUE));
+        jdbcTemplate.update("UPDATE proposals SET claim_expires_at = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), proposalId);
+
+        assertThat(ids(as(second, () -> proposalService.claimProposals(WHOLE_QUEUE)))).contains(proposalId);
+        ProposalResponse reviewed = as(second, () -> proposalService.reviewProposal(proposalId,
+                new ProposalReviewRequest("ACCEPTED", null)));
+        assertThat(reviewed.getStatus()).isEqualTo(Proposal.ProposalStatus.ACCEPTED);
+    }
+
+    private static List<Long> ids(List<ProposalResponse> proposals) {
+        return proposals.stream().map(ProposalResponse::getId).toList();
+    }
+
+    private static <T> T as(User user, Supplier<T> call) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        JwtPrincipal principal = new JwtPrincipal(user.getId(), user.getUsername(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            return call.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.conference.management_system.service;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.conference.management_system.dto.RegistrationResponse;
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Registration;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.SessionSeatStripe;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.exception.ApiException;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.RegistrationRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.SessionSeatStripeRepository;
+import com.conference.management_system.repository.UserRepository;
+import com.conference.management_system.security.JwtPrincipal;
+
+/**
+ * Many users register for one small session at the same time, through the database path (seat stripes).
+ * No more seats are confirmed than the session has, everyone else is waitlisted, and the stripe totals agree
+ * with the confirmed registrations. Users registering for two overlapping sessions at once get only one of them,
+ * through the database path and, in the nested class, through the seat inventory.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {"registration.inventory.enabled=false", "registration.seat-stripes=4"})
+@ActiveProfiles("test")
+class RegistrationConcurrencyTest {
+
+    private static final int MAX_PARTICIPANTS = 10;
+    private static final int PARTICIPANTS = 60;
+    private static final int THREADS = 16;
+    private static final int OVERLAP_USERS = 20;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private SessionSeatCounter seatCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SessionSeatStripeRepository stripeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentRegistrationsNeverOverbookASession() throws Exception {
+        Long sessionId = createSession("Stress test session", "Stress room", LocalDateTime.now().plusDays(7),
+                MAX_PARTICIPANTS);
+        List<User> participants = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants.add(userRepository.save(user("stress" + i)));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<RegistrationResponse>> results = new ArrayList<>();
+        try {
+            for (User participant : participants) {
+                results.add(executor.submit(registerAs(registrationService, participant, sessionId, start)));
+            }
+            start.countDown();
+            for (Future<RegistrationResponse> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Registration> registrations = registrationRepository.findAll().stream()
+                .filter(r -> r.getSession().getId().equals(sessionId))
+                .toList();
+        long confirmed = registrations.stream()
+                .filter(r -> r.getStatus() == Registration.RegistrationStatus.CONFIRMED)
+                .count();
+        long waitlisted = registrations.stream()
+                .filter(r -> r.getStatus() == Registration.RegistrationStatus.WAITLISTED)
+                .count();
+        int stripeTotal = stripeRepository.findAll().stream()
+                .filter(s -> s.getSessionId().equals(sessionId))
+                .mapToInt(SessionSeatStripe::getUsed)
+                .sum();
+
+        assertThat(registrations).hasSize(PARTICIPANTS);
+        assertThat(confirmed).isEqualTo(MAX_PARTICIPANTS);
+        assertThat(waitlisted).isEqualTo(PARTICIPANTS - MAX_PARTICIPANTS);
+        assertThat(stripeTotal).isEqualTo(confirmed);
+    }
+
+    @Test
+    void overlappingRegistrationsOfOneUserConfirmOnlyOne() throws Exception {
+        assertOverlappingRegistrationsConfirmOnlyOne(registrationService, "locked");
+    }
+
+    @Nested
+    @TestPropertySource(properties = "registration.inventory.enabled=true")
+    class ThroughSeatInventory {
+
+        @Autowired
+        private RegistrationService inventoryRegistrationService;
+
+        @Test
+        void overlappingRegistrationsOfOneUserConfirmOnlyOne() throws Exception {
+            // Both claims of a user usually land in the same flush batch, before either reaches the schedule index
+            assertOverlappingRegistrationsConfirmOnlyOne(inventoryRegistrationService, "batched");
+        }
+    }
+
+    /**
+     * Each of {@link #OVERLAP_USERS} users registers for two overlapping sessions at the same time: one
+     * registration is confirmed, the other rejected as a schedule conflict.
+     */
+    private void assertOverlappingRegistrationsConfirmOnlyOne(RegistrationService service, String name)
+            throws Exception {
+        LocalDateTime time = LocalDateTime.now().plusDays(14);
+        Long morning = createSession(name + " morning session", "Room A", time, OVERLAP_USERS);
+        Long overlapping = createSession(name + " overlapping session", "Room B", time.plusMinutes(30), OVERLAP_USERS);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2 * OVERLAP_USERS);
+        Map<User, List<Future<RegistrationResponse>>> results = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < OVERLAP_USERS; i++) {
+                User user = userRepository.save(user(name + "-double-booker" + i));
+                results.put(user, List.of(
+                        executor.submit(registerAs(service, user, morning, start)),
+                        executor.submit(registerAs(service, user, overlapping, start))));
+            }
+            start.countDown();
+            for (Map.Entry<User, List<Future<RegistrationResponse>>> entry : results.entrySet()) {
+                int confirmed = 0;
+                for (Future<RegistrationResponse> result : entry.getValue()) {
+                    try {
+                        assertThat(result.get().getStatus()).isEqualTo(Registration.RegistrationStatus.CONFIRMED);
+                        confirmed++;
+                    } catch (ExecutionException e) {
+                        assertThat(e.getCause()).isInstanceOfSatisfying(ApiException.class,
+                                conflict -> assertThat(conflict.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+                    }
+                }
+                assertThat(confirmed).as(entry.getKey().getUsername()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<RegistrationResponse> registerAs(RegistrationService service, User participant, Long sessionId,
+            CountDownLatch start) {
+        return () -> {
+            // Each task is its own request: request-scoped beans and the security context are per thread
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            JwtPrincipal principal = new JwtPrincipal(participant.getId(), participant.getUsername(),
+                    participant.getRole());
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            try {
+                start.await();
+                return service.registerForSession(sessionId);
+            } finally {
+                SecurityContextHolder.clearContext();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    private Long createSession(String title, String room, LocalDateTime sessionTime, int maxParticipants) {
+        return transactionTemplate.execute(status -> {
+            User speaker = userRepository.save(user(title + "-speaker"));
+            Proposal proposal = proposalRepository.save(
+                    proposal(speaker, title + " proposal", Proposal.ProposalStatus.ACCEPTED));
+            Session session = session(proposal, title, room, sessionTime);
+            session.setMaxParticipants(maxParticipants);
+            session = sessionRepository.saveAndFlush(session);
+            seatCounter.initialize(session);
+            return session.getId();
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.conference.management_system.service;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.SessionRatingSummary;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.repository.FeedbackRepository;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.SessionRatingSummaryRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.UserRepository;
+
+/**
+ * A batch of ratings applied with {@link SessionRatingAggregates#added(Long, long[])} is counted exactly once,
+ * both when the summary row exists and when it has to be created from the feedback table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionRatingAggregatesTest {
+
+    // Ratings 1 to 5, as inserted by one buffered batch
+    private static final long[] BATCH = {1, 0, 2, 1, 3};
+
+    @Autowired
+    private SessionRatingAggregates ratingAggregates;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private SessionRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int sequence;
+
+    @Test
+    void batchIsAddedToAnExistingSummary() {
+        Long sessionId = transactionTemplate.execute(status -> {
+            Session session = createSession("existing");
+            ratingAggregates.initialize(session.getId());
+            insertBatch(session);
+            ratingAggregates.added(session.getId(), BATCH);
+            return session.getId();
+        });
+
+        assertSummary(sessionId);
+    }
+
+    @Test
+    void batchIsCountedOnceWhenTheSummaryIsCreatedFromFeedback() {
+        Long sessionId = transactionTemplate.execute(status -> {
+            // No summary row, as for sessions created before the summaries existed
+            Session session = createSession("missing");
+            insertBatch(session);
+            ratingAggregates.added(session.getId(), BATCH);
+            return session.getId();
+        });
+
+        assertSummary(sessionId);
+    }
+
+    private void assertSummary(Long sessionId) {
+        SessionRatingSummary summary = summaryRepository.findById(sessionId).orElseThrow();
+        assertThat(summary.histogram()).containsExactly(BATCH);
+        assertThat(summary.getRatingCount()).isEqualTo(7);
+        assertThat(summary.getRatingSum()).isEqualTo(1 + 2 * 3 + 4 + 3 * 5);
+    }
+
+    private void insertBatch(Session session) {
+        for (int rating = 1; rating <= BATCH.length; rating++) {
+            for (int i = 0; i < BATCH[rating - 1]; i++) {
+                User rater = userRepository.save(user(session.getTitle() + "-rater" + sequence++));
+                feedbackRepository.save(feedback(rater, session, rating));
+            }
+        }
+        feedbackRepository.flush();
+    }
+
+    private Session createSession(String name) {
+        User speaker = userRepository.save(user(name + "-speaker"));
+        Proposal proposal = proposalRepository.save(
+                proposal(speaker, "Rated proposal " + name, Proposal.ProposalStatus.ACCEPTED));
+        return sessionRepository.saveAndFlush(
+                session(proposal, name, "Rated room " + name, LocalDateTime.now().minusDays(1)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.conference.management_system.service;
+
+import static com.conference.management_system.TestFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.conference.management_system.entity.Proposal;
+import com.conference.management_system.entity.Session;
+import com.conference.management_system.entity.SessionSeatStripe;
+import com.conference.management_system.entity.User;
+import com.conference.management_system.repository.ProposalRepository;
+import com.conference.management_system.repository.SessionRepository;
+import com.conference.management_system.repository.SessionSeatStripeRepository;
+import com.conference.management_system.repository.UserRepository;
+
+/**
+ * Sessions smaller than {@code registration.seat-stripes} get one stripe per seat, and a resize adds or drops
+ * stripes to match the new capacity without losing a seat in use.
+ */
+@SpringBootTest(properties = {"registration.inventory.enabled=false", "registration.seat-stripes=4"})
+@ActiveProfiles("test")
+class SessionSeatCounterTest {
+
+    @Autowired
+    private SessionSeatCounter seatCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionSeatStripeRepository stripeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void smallSessionHasOneStripePerSeat() {
+        Long sessionId = createSession("tiny", 2);
+
+        assertThat(capacities(sessionId)).containsExactly(1, 1);
+        assertThat(claim(sessionId)).isTrue();
+        assertThat(claim(sessionId)).isTrue();
+        assertThat(claim(sessionId)).isFalse();
+    }
+
+    @Test
+    void resizeAddsAndDropsStripes() {
+        Long sessionId = createSession("growing", 2);
+        assertThat(claim(sessionId)).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> seatCounter.resize(sessionId, 10));
+        assertThat(stripes(sessionId)).hasSize(4);
+        assertThat(capacities(sessionId).stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+        for (int i = 1; i < 10; i++) {
+            assertThat(claim(sessionId)).as("seat %d", i + 1).isTrue();
+        }
+        assertThat(claim(sessionId)).isFalse();
+
+        // Down to a single seat: stripes still holding seats stay, the session is simply full
+        transactionTemplate.executeWithoutResult(status -> seatCounter.resize(sessionId, 1));
+        assertThat(stripes(sessionId).stream().mapToInt(SessionSeatStripe::getUsed).sum()).isEqualTo(10);
+        assertThat(claim(sessionId)).isFalse();
+    }
+
+    @Test
+    void resizeDownDropsEmptyTrailingStripes() {
+        Long sessionId = createSession("shrinking", 10);
+        assertThat(stripes(sessionId)).hasSize(4);
+
+        transactionTemplate.executeWithoutResult(status -> seatCounter.resize(sessionId, 2));
+
+        assertThat(capacities(sessionId)).containsExactly(1, 1);
+    }
+
+    private boolean claim(Long sessionId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> seatCounter.tryClaim(sessionId)));
+    }
+
+    private List<SessionSeatStripe> stripes(Long sessionId) {
+        return stripeRepository.findAll().stream()
+                .filter(stripe -> stripe.getSessionId().equals(sessionId))
+                .toList();
+    }
+
+    private List<Integer> capacities(Long sessionId) {
+        return stripes(sessionId).stream().map(SessionSeatStripe::getCapacity).toList();
+    }
+
+    private Long createSession(String name, int maxParticipants) {
+        return transactionTemplate.execute(status -> {
+            User speaker = userRepository.save(user(name + "-stripe-speaker"));
+            Proposal proposal = proposalRepository.save(
+                    proposal(speaker, name + " proposal", Proposal.ProposalStatus.ACCEPTED));
+            Session session = session(proposal, name, "Stripe room " + name, LocalDateTime.now().plusDays(3));
+            session.setMaxParticipants(maxParticipants);
+            session = sessionRepository.saveAndFlush(session);
+            seatCounter.initialize(session);
+            return session.getId();
+        });
+    }
+}